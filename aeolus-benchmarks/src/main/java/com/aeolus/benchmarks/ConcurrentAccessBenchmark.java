@@ -0,0 +1,44 @@
+package com.aeolus.benchmarks;
+
+import com.aeolus.benchmarks.fixtures.SingletonService;
+import com.aeolus.core.di.Container;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended singleton resolution: eight threads sharing one container. Reads should scale
+ * with threads; a drop against {@link ResolutionBenchmark#singleton()} points at shared
+ * writes or locks on the read path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ConcurrentAccessBenchmark {
+
+    private Container container;
+
+    @Setup
+    public void setUp() {
+        container = Container.builder()
+                .logger(new SilentLogger())
+                .metadataCache(null)
+                .scan("com.aeolus.benchmarks.fixtures")
+                .build();
+        container.get(SingletonService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public SingletonService singleton() {
+        return container.get(SingletonService.class);
+    }
+}
@@ -0,0 +1,112 @@
+package com.aeolus.benchmarks;
+
+import com.aeolus.benchmarks.fixtures.*;
+import com.aeolus.core.di.Container;
+import com.aeolus.core.di.PropertyBinder;
+import com.aeolus.core.di.ScanMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of resolving an already-registered type, per scope and lookup style.
+ * Run with {@code -prof gc} to see allocation per call ({@code gc.alloc.rate.norm}).
+ * {@code scanMode=GENERATED} wires the fixtures through their build-time generated factories
+ * instead of method handles; {@link #directDeepChain()} is the hand-written baseline.
+ * {@code frozen=true} builds the container with {@code Builder.freeze(true)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolutionBenchmark {
+
+    @Param({"BYTECODE", "GENERATED"})
+    public ScanMode scanMode;
+
+    @Param({"false", "true"})
+    public boolean frozen;
+
+    private Container container;
+    private PrototypeFactory factory;
+    private Properties properties;
+
+    // Per iteration: the container keeps every prototype it creates (for @PreDestroy) until it
+    // closes, so prototype benchmarks also use short iterations to keep that set small.
+    @Setup(Level.Iteration)
+    public void setUp() {
+        container = Container.builder()
+                .logger(new SilentLogger())
+                .metadataCache(null)
+                .scanMode(scanMode)
+                .freeze(frozen)
+                .scan("com.aeolus.benchmarks.fixtures")
+                .build();
+        container.get(SingletonService.class);
+        factory = container.get(PrototypeFactory.class);
+
+        properties = new Properties();
+        properties.setProperty("app.host", "localhost");
+        properties.setProperty("app.port", "8080");
+        properties.setProperty("app.debug", "true");
+        properties.setProperty("app.ratio", "0.75");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public SingletonService singleton() {
+        return container.get(SingletonService.class);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+    public PrototypeService prototype() {
+        return container.get(PrototypeService.class);
+    }
+
+    /** Same bean as {@link #prototype()}, created through an injected, pre-bound {@code Provider}. */
+    @Benchmark
+    @Warmup(iterations = 5, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+    public PrototypeService providerPrototype() {
+        return factory.next();
+    }
+
+    @Benchmark
+    public ThreadService threadScoped() {
+        return container.get(ThreadService.class);
+    }
+
+    @Benchmark
+    public Object byName() {
+        return container.getByName("namedService");
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+    public DeepChain.Level9 deepPrototypeChain() {
+        return container.get(DeepChain.Level9.class);
+    }
+
+    /** The same ten objects as {@link #deepPrototypeChain()}, constructed by hand. */
+    @Benchmark
+    public DeepChain.Level9 directDeepChain() {
+        return new DeepChain.Level9(new DeepChain.Level8(new DeepChain.Level7(new DeepChain.Level6(
+                new DeepChain.Level5(new DeepChain.Level4(new DeepChain.Level3(new DeepChain.Level2(
+                        new DeepChain.Level1(new DeepChain.Level0())))))))));
+    }
+
+    @Benchmark
+    public Object configBinding() {
+        return PropertyBinder.bindConfig(AppSettings.class, properties);
+    }
+}
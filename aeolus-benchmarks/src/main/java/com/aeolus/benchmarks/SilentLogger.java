@@ -0,0 +1,13 @@
+package com.aeolus.benchmarks;
+
+import com.aeolus.core.logging.Level;
+import com.aeolus.core.logging.Logger;
+
+/** Discards everything, so benchmarks measure the container rather than the console. */
+final class SilentLogger implements Logger {
+    @Override public boolean isEnabled(Level level) { return false; }
+    @Override public void trace(String msg, Object... args) { }
+    @Override public void info(String msg, Object... args) { }
+    @Override public void warn(String msg, Object... args) { }
+    @Override public void error(String msg, Object... args) { }
+}
@@ -0,0 +1,80 @@
+package com.aeolus.benchmarks;
+
+import com.aeolus.core.di.Container;
+import com.aeolus.core.di.ScanMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Container.builder().scan(...).build()} over generated packages of 100 to 10,000
+ * components, each measured on a fresh class loader so class loading is part of the cost.
+ * {@code start=cold} scans and analyses every class; {@code start=cache} starts from a
+ * metadata cache written during setup (warm start); {@code start=generated} registers the
+ * package's build-time generated factories, so neither scanning nor reflection is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int components;
+
+    @Param({"cold", "cache", "generated"})
+    public String start;
+
+    private Path root;
+    private Path classes;
+    private Path cacheFile;
+    private ClassLoader previous;
+    private URLClassLoader loader;
+
+    @Setup(Level.Trial)
+    public void compile() throws IOException {
+        root = Files.createTempDirectory("aeolus-startup");
+        classes = SyntheticComponents.compile(root, components, start.equals("generated"));
+        cacheFile = root.resolve("metadata.cache");
+        if (start.equals("cache")) {
+            withFreshLoader();
+            build();
+            restoreLoader();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void withFreshLoader() throws IOException {
+        previous = Thread.currentThread().getContextClassLoader();
+        loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader());
+        Thread.currentThread().setContextClassLoader(loader);
+    }
+
+    @Benchmark
+    public Container build() {
+        return Container.builder()
+                .logger(new SilentLogger())
+                .metadataCache(start.equals("cache") ? cacheFile : null)
+                .scanMode(start.equals("generated") ? ScanMode.GENERATED : ScanMode.BYTECODE)
+                .scan(SyntheticComponents.PACKAGE)
+                .build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void restoreLoader() throws IOException {
+        Thread.currentThread().setContextClassLoader(previous);
+        loader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        SyntheticComponents.delete(root);
+    }
+}
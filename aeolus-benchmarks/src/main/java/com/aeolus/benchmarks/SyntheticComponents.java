@@ -0,0 +1,107 @@
+package com.aeolus.benchmarks;
+
+import com.aeolus.core.di.annotations.Component;
+import com.aeolus.processor.FactoryProcessor;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Generates and compiles a package of {@code @Component} classes for startup benchmarks.
+ * <p>
+ * Components form chains of ten: each injects its predecessor, alternating field and
+ * constructor injection, and every fifth has a {@code @PostConstruct} method. Optionally
+ * the package is compiled with its generated factories and registry.
+ */
+final class SyntheticComponents {
+
+    static final String PACKAGE = "gen.components";
+
+    private SyntheticComponents() { }
+
+    /**
+     * Writes and compiles {@code count} components below {@code root}, with generated factories
+     * if {@code generate}; returns the class output directory.
+     */
+    static Path compile(Path root, int count, boolean generate) throws IOException {
+        Path src = root.resolve("src");
+        Path out = Files.createDirectories(root.resolve("classes"));
+        Path pkg = Files.createDirectories(src.resolve(PACKAGE.replace('.', '/')));
+
+        List<File> files = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Path file = pkg.resolve("C" + i + ".java");
+            Files.writeString(file, source(i));
+            files.add(file.toFile());
+        }
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null) throw new IllegalStateException("Startup benchmarks need a JDK, not a JRE");
+        try (StandardJavaFileManager fm = javac.getStandardFileManager(null, null, null)) {
+            fm.setLocation(StandardLocation.CLASS_OUTPUT, List.of(out.toFile()));
+            fm.setLocation(StandardLocation.CLASS_PATH, List.of(
+                    locationOf(Component.class), locationOf(Inject.class), locationOf(PostConstruct.class)));
+            fm.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(Files.createDirectories(root.resolve("generated")).toFile()));
+            JavaCompiler.CompilationTask task = javac.getTask(null, fm, null,
+                    generate ? List.of("-Aaeolus.generateFactories=true") : List.of("-proc:none"), null,
+                    fm.getJavaFileObjectsFromFiles(files));
+            if (generate) task.setProcessors(List.of(new FactoryProcessor()));
+            boolean ok = task.call();
+            if (!ok) throw new IllegalStateException("Failed to compile synthetic components");
+        }
+        return out;
+    }
+
+    static void delete(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) return;
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static String source(int i) {
+        StringBuilder sb = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n\n")
+                .append("@com.aeolus.core.di.annotations.Component\n")
+                .append("public class C").append(i).append(" {\n");
+        boolean hasDependency = i % 10 != 0;
+        if (hasDependency && i % 2 == 0) {
+            sb.append("    final C").append(i - 1).append(" dep;\n")
+              .append("    @jakarta.inject.Inject public C").append(i)
+              .append("(C").append(i - 1).append(" dep) { this.dep = dep; }\n");
+        } else if (hasDependency) {
+            sb.append("    @jakarta.inject.Inject C").append(i - 1).append(" dep;\n");
+        }
+        if (i % 5 == 0)
+            sb.append("    @jakarta.annotation.PostConstruct void init() { }\n");
+        return sb.append("}\n").toString();
+    }
+
+    private static File locationOf(Class<?> type) {
+        try {
+            return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.aeolus.benchmarks.fixtures;
+
+import com.aeolus.core.di.annotations.Config;
+
+@Config(prefix = "app")
+public class AppSettings {
+    public String host;
+    public int port;
+    public boolean debug;
+    public double ratio;
+}
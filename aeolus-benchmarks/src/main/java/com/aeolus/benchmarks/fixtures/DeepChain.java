@@ -0,0 +1,116 @@
+package com.aeolus.benchmarks.fixtures;
+
+import com.aeolus.core.di.annotations.Component;
+import com.aeolus.core.di.annotations.Scope;
+import jakarta.inject.Inject;
+
+/**
+ * A ten-level chain of prototypes: every {@code get(Level9.class)} creates and wires all ten.
+ */
+public final class DeepChain {
+
+    private DeepChain() { }
+
+    @Component
+    @Scope("prototype")
+    public static class Level0 { }
+
+    @Component
+    @Scope("prototype")
+    public static class Level1 {
+        final Level0 next;
+
+        @Inject
+        public Level1(Level0 next) {
+            this.next = next;
+        }
+    }
+
+    @Component
+    @Scope("prototype")
+    public static class Level2 {
+        final Level1 next;
+
+        @Inject
+        public Level2(Level1 next) {
+            this.next = next;
+        }
+    }
+
+    @Component
+    @Scope("prototype")
+    public static class Level3 {
+        final Level2 next;
+
+        @Inject
+        public Level3(Level2 next) {
+            this.next = next;
+        }
+    }
+
+    @Component
+    @Scope("prototype")
+    public static class Level4 {
+        final Level3 next;
+
+        @Inject
+        public Level4(Level3 next) {
+            this.next = next;
+        }
+    }
+
+    @Component
+    @Scope("prototype")
+    public static class Level5 {
+        final Level4 next;
+
+        @Inject
+        public Level5(Level4 next) {
+            this.next = next;
+        }
+    }
+
+    @Component
+    @Scope("prototype")
+    public static class Level6 {
+        final Level5 next;
+
+        @Inject
+        public Level6(Level5 next) {
+            this.next = next;
+        }
+    }
+
+    @Component
+    @Scope("prototype")
+    public static class Level7 {
+        final Level6 next;
+
+        @Inject
+        public Level7(Level6 next) {
+            this.next = next;
+        }
+    }
+
+    @Component
+    @Scope("prototype")
+    public static class Level8 {
+        final Level7 next;
+
+        @Inject
+        public Level8(Level7 next) {
+            this.next = next;
+        }
+    }
+
+    @Component
+    @Scope("prototype")
+    public static class Level9 {
+        final Level8 next;
+
+        @Inject
+        public Level9(Level8 next) {
+            this.next = next;
+        }
+    }
+}
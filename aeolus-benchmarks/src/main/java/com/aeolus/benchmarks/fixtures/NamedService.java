@@ -0,0 +1,8 @@
+package com.aeolus.benchmarks.fixtures;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.inject.Named;
+
+@Component
+@Named("namedService")
+public class NamedService { }
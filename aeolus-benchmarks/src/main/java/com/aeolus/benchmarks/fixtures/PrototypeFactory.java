@@ -0,0 +1,14 @@
+package com.aeolus.benchmarks.fixtures;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+
+@Component
+public class PrototypeFactory {
+    @Inject Provider<PrototypeService> prototypes;
+
+    public PrototypeService next() {
+        return prototypes.get();
+    }
+}
@@ -0,0 +1,11 @@
+package com.aeolus.benchmarks.fixtures;
+
+import com.aeolus.core.di.annotations.Component;
+import com.aeolus.core.di.annotations.Scope;
+import jakarta.inject.Inject;
+
+@Component
+@Scope("prototype")
+public class PrototypeService {
+    @Inject SingletonService singleton;
+}
@@ -0,0 +1,10 @@
+package com.aeolus.benchmarks.fixtures;
+
+import com.aeolus.core.di.annotations.Component;
+
+@Component
+public class SingletonService {
+    public int work() {
+        return 1;
+    }
+}
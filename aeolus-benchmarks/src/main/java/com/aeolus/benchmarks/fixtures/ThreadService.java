@@ -0,0 +1,8 @@
+package com.aeolus.benchmarks.fixtures;
+
+import com.aeolus.core.di.annotations.Component;
+import com.aeolus.core.di.annotations.Scope;
+
+@Component
+@Scope("thread")
+public class ThreadService { }
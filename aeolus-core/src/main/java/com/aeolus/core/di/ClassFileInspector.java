@@ -0,0 +1,143 @@
+package com.aeolus.core.di;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal class file reader that answers "is this class annotated with X?" without
+ * loading it.
+ * <p>
+ * Walks the constant pool and skips fields and methods to reach the class-level
+ * {@code RuntimeVisibleAnnotations} attribute, comparing annotation type descriptors
+ * byte-for-byte. Classes whose constant pool does not even mention one of the wanted
+ * descriptors are rejected before the rest of the file is parsed. Malformed input is
+ * treated as "not annotated".
+ */
+final class ClassFileInspector {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS =
+            "RuntimeVisibleAnnotations".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[][] descriptors;
+
+    /** @param annotationTypes binary names of the annotations to look for */
+    ClassFileInspector(String... annotationTypes) {
+        this.descriptors = new byte[annotationTypes.length][];
+        for (int i = 0; i < annotationTypes.length; i++)
+            descriptors[i] = ("L" + annotationTypes[i].replace('.', '/') + ";").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    boolean isAnnotated(byte[] b) {
+        try {
+            return parse(b);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private boolean parse(byte[] b) {
+        if (b.length < 10 || readInt(b, 0) != MAGIC) return false;
+
+        int count = readShort(b, 8);
+        int[] utf8 = new int[count];
+        boolean mentioned = false;
+        int p = 10;
+        for (int i = 1; i < count; i++) {
+            int tag = b[p] & 0xFF;
+            switch (tag) {
+                case 1 -> {
+                    utf8[i] = p;
+                    if (!mentioned && isWanted(b, p)) mentioned = true;
+                    p += 3 + readShort(b, p + 1);
+                }
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> p += 5;
+                case 5, 6 -> { p += 9; i++; }
+                case 7, 8, 16, 19, 20 -> p += 3;
+                case 15 -> p += 4;
+                default -> { return false; }
+            }
+        }
+        if (!mentioned) return false;
+
+        p += 6;                                   // access_flags, this_class, super_class
+        p += 2 + 2 * readShort(b, p);             // interfaces
+        p = skipMembers(b, p);                    // fields
+        p = skipMembers(b, p);                    // methods
+
+        int attributes = readShort(b, p);
+        p += 2;
+        for (int a = 0; a < attributes; a++) {
+            int name = readShort(b, p);
+            int length = readInt(b, p + 2);
+            p += 6;
+            if (utf8Equals(b, utf8[name], RUNTIME_VISIBLE_ANNOTATIONS)) {
+                int n = readShort(b, p);
+                int q = p + 2;
+                for (int i = 0; i < n; i++) {
+                    if (isWanted(b, utf8[readShort(b, q)])) return true;
+                    q = skipAnnotation(b, q);
+                }
+            }
+            p += length;
+        }
+        return false;
+    }
+
+    private boolean isWanted(byte[] b, int utf8Offset) {
+        for (byte[] d : descriptors)
+            if (utf8Equals(b, utf8Offset, d)) return true;
+        return false;
+    }
+
+    private static int skipMembers(byte[] b, int p) {
+        int count = readShort(b, p);
+        p += 2;
+        for (int i = 0; i < count; i++) {
+            int attributes = readShort(b, p + 6);
+            p += 8;
+            for (int a = 0; a < attributes; a++)
+                p += 6 + readInt(b, p + 2);
+        }
+        return p;
+    }
+
+    private static int skipAnnotation(byte[] b, int p) {
+        int pairs = readShort(b, p + 2);
+        p += 4;
+        for (int i = 0; i < pairs; i++)
+            p = skipElementValue(b, p + 2);
+        return p;
+    }
+
+    private static int skipElementValue(byte[] b, int p) {
+        char tag = (char) (b[p] & 0xFF);
+        return switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> p + 3;
+            case 'e' -> p + 5;
+            case '@' -> skipAnnotation(b, p + 1);
+            case '[' -> {
+                int n = readShort(b, p + 1);
+                int q = p + 3;
+                for (int i = 0; i < n; i++) q = skipElementValue(b, q);
+                yield q;
+            }
+            default -> throw new IllegalArgumentException("Bad element_value tag: " + tag);
+        };
+    }
+
+    private static boolean utf8Equals(byte[] b, int offset, byte[] expected) {
+        if (offset == 0 || readShort(b, offset + 1) != expected.length) return false;
+        int start = offset + 3;
+        for (int i = 0; i < expected.length; i++)
+            if (b[start + i] != expected[i]) return false;
+        return true;
+    }
+
+    private static int readShort(byte[] b, int p) {
+        return ((b[p] & 0xFF) << 8) | (b[p + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] b, int p) {
+        return ((b[p] & 0xFF) << 24) | ((b[p + 1] & 0xFF) << 16) | ((b[p + 2] & 0xFF) << 8) | (b[p + 3] & 0xFF);
+    }
+}
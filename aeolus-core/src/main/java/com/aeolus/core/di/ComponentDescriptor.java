@@ -0,0 +1,148 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.annotations.Bean;
+import com.aeolus.core.di.annotations.Configuration;
+import com.aeolus.core.di.annotations.Lazy;
+import com.aeolus.core.di.annotations.Scope;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Annotation-free description of a component: what it is bound as, its scope, and every
+ * injection point by member name and type name.
+ * <p>
+ * {@link #describe(Class)} extracts it from annotations once; {@link MetadataCache} persists
+ * it so that a warm start can register bindings and build {@link InjectionPlan}s from
+ * descriptors alone, looking members up by name instead of scanning annotations.
+ *
+ * @param type          binary name of the component class
+ * @param boundAs       binary name of the type the component is registered under
+ * @param name          {@code @Named} value, or {@code null}
+ * @param constructor   constructor parameters, or {@code null} if there is no usable constructor
+ * @param fields        {@code @Inject} fields
+ * @param setters       single-argument {@code @Inject} methods
+ * @param resources     {@code @Resource} fields; {@link Point#qualifier()} holds the property key
+ * @param beanMethods   {@code @Bean} methods, for {@link Kind#CONFIGURATION} classes
+ */
+record ComponentDescriptor(String type, Kind kind, String boundAs, String name, String scope,
+                           List<Point> constructor, List<Point> fields, List<Point> setters,
+                           List<Point> resources, List<String> postConstruct, List<String> preDestroy,
+                           List<BeanMethod> beanMethods) {
+
+    enum Kind { COMPONENT, CONFIGURATION }
+
+    /**
+     * One injection point.
+     *
+     * @param member    field or method name; empty for parameters
+     * @param type      binary name of the declared type
+     * @param qualifier {@code @Named} value (or {@code @Resource} key), or {@code null}
+     * @param lazy      whether the point is annotated {@code @Lazy}
+     */
+    record Point(String member, String type, String qualifier, boolean lazy) {
+        Point(String member, String type, String qualifier) {
+            this(member, type, qualifier, false);
+        }
+    }
+
+    /**
+     * @param name       {@code @Named} value of the method, or {@code null} to register by return type
+     * @param returnType binary name of the declared return type
+     */
+    record BeanMethod(String method, List<Point> params, String name, String returnType) { }
+
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of(
+            "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+            "int", int.class, "long", long.class, "float", float.class, "double", double.class,
+            "void", void.class);
+
+    static ComponentDescriptor describe(Class<?> cls) {
+        Kind kind = cls.isAnnotationPresent(Configuration.class) ? Kind.CONFIGURATION : Kind.COMPONENT;
+
+        Class<?>[] interfaces = cls.getInterfaces();
+        String boundAs = (interfaces.length == 1) ? interfaces[0].getName() : cls.getName();
+
+        Scope scope = cls.getAnnotation(Scope.class);
+        String scopeName = (scope != null) ? scope.value() : "singleton";
+
+        List<Point> ctor = null;
+        Constructor<?> selected = selectConstructor(cls);
+        if (selected != null) ctor = points(selected.getParameters());
+
+        List<Point> fields = new ArrayList<>();
+        List<Point> resources = new ArrayList<>();
+        for (Field f : cls.getDeclaredFields()) {
+            if (f.isAnnotationPresent(Inject.class))
+                fields.add(new Point(f.getName(), f.getType().getName(), nameOf(f), isLazy(f)));
+            Resource res = f.getAnnotation(Resource.class);
+            if (res != null)
+                resources.add(new Point(f.getName(), f.getType().getName(), res.name()));
+        }
+
+        List<Point> setters = new ArrayList<>();
+        List<String> postConstruct = new ArrayList<>();
+        List<String> preDestroy = new ArrayList<>();
+        List<BeanMethod> beanMethods = new ArrayList<>();
+        for (Method m : cls.getDeclaredMethods()) {
+            if (m.isAnnotationPresent(Inject.class) && m.getParameterCount() == 1) {
+                Parameter p = m.getParameters()[0];
+                setters.add(new Point(m.getName(), p.getType().getName(), nameOf(p), isLazy(m) || isLazy(p)));
+            }
+            if (m.isAnnotationPresent(PostConstruct.class)) postConstruct.add(m.getName());
+            if (m.isAnnotationPresent(PreDestroy.class)) preDestroy.add(m.getName());
+            if (kind == Kind.CONFIGURATION && m.isAnnotationPresent(Bean.class))
+                beanMethods.add(new BeanMethod(m.getName(), points(m.getParameters()), nameOf(m),
+                        m.getReturnType().getName()));
+        }
+
+        return new ComponentDescriptor(cls.getName(), kind, boundAs, nameOf(cls), scopeName,
+                ctor, fields, setters, resources, postConstruct, preDestroy, beanMethods);
+    }
+
+    /** Loads a type recorded by {@link Class#getName()}, including primitives, without initializing it. */
+    static Class<?> classFor(String name, ClassLoader cl) throws ClassNotFoundException {
+        Class<?> primitive = PRIMITIVES.get(name);
+        return (primitive != null) ? primitive : Class.forName(name, false, cl);
+    }
+
+    static Class<?>[] typesOf(List<Point> points, ClassLoader cl) throws ClassNotFoundException {
+        Class<?>[] types = new Class<?>[points.size()];
+        for (int i = 0; i < types.length; i++) types[i] = classFor(points.get(i).type(), cl);
+        return types;
+    }
+
+    private static Constructor<?> selectConstructor(Class<?> cls) {
+        for (Constructor<?> c : cls.getDeclaredConstructors()) {
+            if (c.isAnnotationPresent(Inject.class)) return c;
+        }
+        try {
+            return cls.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static List<Point> points(Parameter[] params) {
+        List<Point> points = new ArrayList<>(params.length);
+        for (Parameter p : params)
+            points.add(new Point("", p.getType().getName(), nameOf(p), isLazy(p)));
+        return points;
+    }
+
+    private static String nameOf(AnnotatedElement e) {
+        Named named = e.getAnnotation(Named.class);
+        return (named != null) ? named.value() : null;
+    }
+
+    private static boolean isLazy(AnnotatedElement e) {
+        return e.isAnnotationPresent(Lazy.class);
+    }
+}
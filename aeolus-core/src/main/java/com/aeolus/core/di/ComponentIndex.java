@@ -0,0 +1,79 @@
+package com.aeolus.core.di;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compile-time component index written by {@code aeolus-processor} to {@value #LOCATION}.
+ * <p>
+ * Every classpath root (directory or JAR) that carries an index is trusted to list all of
+ * its components, so {@link ComponentScanner} reads the index for that root instead of
+ * walking it. Roots without an index are still scanned at runtime.
+ */
+final class ComponentIndex {
+
+    static final String LOCATION = "META-INF/aeolus/components.idx";
+
+    private static final ComponentIndex EMPTY = new ComponentIndex(Collections.emptyMap());
+
+    private final Map<String, List<String>> entriesByRoot;
+
+    private ComponentIndex(Map<String, List<String>> entriesByRoot) {
+        this.entriesByRoot = entriesByRoot;
+    }
+
+    static ComponentIndex load(ClassLoader cl) {
+        Map<String, List<String>> byRoot = new HashMap<>();
+        try {
+            Enumeration<URL> urls = cl.getResources(LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                byRoot.put(rootOf(url, LOCATION), read(url));
+            }
+        } catch (IOException e) {
+            return EMPTY;
+        }
+        return byRoot.isEmpty() ? EMPTY : new ComponentIndex(byRoot);
+    }
+
+    /**
+     * Returns the indexed class names under {@code basePackage} for the classpath root that
+     * {@code packageUrl} belongs to, or {@code null} when that root has no index.
+     */
+    List<String> lookup(URL packageUrl, String basePackage) {
+        if (entriesByRoot.isEmpty()) return null;
+        List<String> entries = entriesByRoot.get(rootOf(packageUrl, basePackage.replace('.', '/')));
+        if (entries == null) return null;
+
+        String prefix = basePackage + ".";
+        List<String> matches = new ArrayList<>();
+        for (String name : entries) {
+            if (name.startsWith(prefix)) matches.add(name);
+        }
+        return matches;
+    }
+
+    private static List<String> read(URL url) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(
+                new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) names.add(line);
+            }
+        }
+        return names;
+    }
+
+    private static String rootOf(URL url, String path) {
+        String s = url.toExternalForm();
+        if (s.endsWith("/")) s = s.substring(0, s.length() - 1);
+        if (s.endsWith(path)) s = s.substring(0, s.length() - path.length());
+        return s;
+    }
+}
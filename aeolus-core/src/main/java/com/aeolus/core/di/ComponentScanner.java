@@ -2,46 +2,85 @@ package com.aeolus.core.di;
 
 import com.aeolus.core.di.annotations.Component;
 import com.aeolus.core.di.annotations.Configuration;
+import jakarta.inject.Singleton;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 /**
  * Recursively scans the classpath for annotated components and configuration classes.
  * Supports multiple base packages and nested subpackages.
+ * <p>
+ * Classpath roots that ship a compile-time {@link ComponentIndex} are read from the index;
+ * only roots without one are walked at runtime, using the selected {@link ScanMode}.
  */
 public final class ComponentScanner {
 
+  private static final ClassFileInspector INSPECTOR = new ClassFileInspector(
+          Component.class.getName(), Configuration.class.getName(), Singleton.class.getName());
+
+  /** Upper bound of class files inspected by a single fork-join leaf task. */
+  private static final int BATCH_SIZE = 32;
+
   private ComponentScanner() {}
 
   public static Set<Class<?>> scan(String... basePackages) {
+    return scan(ScanMode.BYTECODE, basePackages);
+  }
+
+  public static Set<Class<?>> scan(ScanMode mode, String... basePackages) {
+    ClassLoader cl = Thread.currentThread().getContextClassLoader();
+    ComponentIndex index = ComponentIndex.load(cl);
     Set<Class<?>> result = new HashSet<>();
     for (String basePackage : basePackages) {
-      result.addAll(scanSingle(basePackage));
+      result.addAll(scanSingle(basePackage, cl, index, mode));
     }
     return result;
   }
 
-  private static Set<Class<?>> scanSingle(String basePackage) {
+  private static Set<Class<?>> scanSingle(String basePackage, ClassLoader cl, ComponentIndex index, ScanMode mode) {
     Set<Class<?>> classes = new HashSet<>();
     String path = basePackage.replace('.', '/');
-    ClassLoader cl = Thread.currentThread().getContextClassLoader();
+    boolean initialize = (mode == ScanMode.REFLECTIVE);
 
     try {
       Enumeration<URL> resources = cl.getResources(path);
       while (resources.hasMoreElements()) {
         URL resource = resources.nextElement();
-        String protocol = resource.getProtocol();
+        List<String> indexed = index.lookup(resource, basePackage);
+        if (indexed != null) {
+          for (String className : indexed) {
+            loadClassSafely(classes, className, cl, initialize);
+          }
+          continue;
+        }
 
-        if ("file".equals(protocol)) {
+        String protocol = resource.getProtocol();
+        if (mode != ScanMode.REFLECTIVE) {
+          Set<String> matches = ConcurrentHashMap.newKeySet();
+          if ("file".equals(protocol)) {
+            inspectDirectory(basePackage, new File(resource.getFile()), matches);
+          } else if ("jar".equals(protocol)) {
+            inspectJar(resource, path, matches);
+          }
+          for (String className : matches) {
+            loadClassSafely(classes, className, cl, false);
+          }
+        } else if ("file".equals(protocol)) {
           File dir = new File(resource.getFile());
-          classes.addAll(scanDirectory(basePackage, dir));
+          classes.addAll(scanDirectory(basePackage, dir, cl));
         } else if ("jar".equals(protocol)) {
-          classes.addAll(scanJar(resource, path));
+          classes.addAll(scanJar(resource, path, cl));
         }
       }
     } catch (IOException e) {
@@ -51,7 +90,10 @@ public final class ComponentScanner {
     return classes;
   }
 
-  private static Set<Class<?>> scanDirectory(String basePackage, File dir) {
+  // ------------------------------------------------------------------------
+  // ScanMode.REFLECTIVE
+  // ------------------------------------------------------------------------
+  private static Set<Class<?>> scanDirectory(String basePackage, File dir, ClassLoader cl) {
     Set<Class<?>> classes = new HashSet<>();
     if (!dir.exists()) return classes;
 
@@ -62,16 +104,16 @@ public final class ComponentScanner {
       if (file.isDirectory()) {
         // recursive descent into subpackages
         String subPackage = basePackage + "." + file.getName();
-        classes.addAll(scanDirectory(subPackage, file));
+        classes.addAll(scanDirectory(subPackage, file, cl));
       } else if (file.getName().endsWith(".class")) {
         String className = basePackage + '.' + file.getName().replace(".class", "");
-        loadClassSafely(classes, className);
+        loadClassSafely(classes, className, cl, true);
       }
     }
     return classes;
   }
 
-  private static Set<Class<?>> scanJar(URL resource, String path) {
+  private static Set<Class<?>> scanJar(URL resource, String path, ClassLoader cl) {
     Set<Class<?>> classes = new HashSet<>();
     String jarPath = resource.getPath().substring(5, resource.getPath().indexOf("!"));
     try (JarFile jarFile = new JarFile(jarPath)) {
@@ -81,7 +123,7 @@ public final class ComponentScanner {
         String name = entry.getName();
         if (name.startsWith(path) && name.endsWith(".class")) {
           String className = name.replace('/', '.').replace(".class", "");
-          loadClassSafely(classes, className);
+          loadClassSafely(classes, className, cl, true);
         }
       }
     } catch (IOException e) {
@@ -90,9 +132,97 @@ public final class ComponentScanner {
     return classes;
   }
 
-  private static void loadClassSafely(Set<Class<?>> classes, String className) {
+  // ------------------------------------------------------------------------
+  // ScanMode.BYTECODE
+  // ------------------------------------------------------------------------
+  private static void inspectDirectory(String basePackage, File dir, Set<String> matches) {
+    List<String> names = new ArrayList<>();
+    List<File> files = new ArrayList<>();
+    collectClassFiles(basePackage, dir, names, files);
+
+    ForkJoinPool.commonPool().invoke(new InspectTask(files.size(), i -> {
+      try {
+        if (INSPECTOR.isAnnotated(Files.readAllBytes(files.get(i).toPath())))
+          matches.add(names.get(i));
+      } catch (IOException ignored) {
+        // unreadable class file: treat as not a component
+      }
+    }));
+  }
+
+  private static void collectClassFiles(String pkg, File dir, List<String> names, List<File> files) {
+    File[] children = dir.listFiles();
+    if (children == null) return;
+    for (File file : children) {
+      if (file.isDirectory()) {
+        collectClassFiles(pkg + "." + file.getName(), file, names, files);
+      } else if (file.getName().endsWith(".class")) {
+        names.add(pkg + '.' + file.getName().replace(".class", ""));
+        files.add(file);
+      }
+    }
+  }
+
+  private static void inspectJar(URL resource, String path, Set<String> matches) {
+    String jarPath = resource.getPath().substring(5, resource.getPath().indexOf("!"));
+    try (JarFile jarFile = new JarFile(jarPath)) {
+      List<JarEntry> entries = new ArrayList<>();
+      Enumeration<JarEntry> all = jarFile.entries();
+      while (all.hasMoreElements()) {
+        JarEntry entry = all.nextElement();
+        if (entry.getName().startsWith(path) && entry.getName().endsWith(".class"))
+          entries.add(entry);
+      }
+
+      ForkJoinPool.commonPool().invoke(new InspectTask(entries.size(), i -> {
+        JarEntry entry = entries.get(i);
+        try (InputStream in = jarFile.getInputStream(entry)) {
+          if (INSPECTOR.isAnnotated(in.readAllBytes()))
+            matches.add(entry.getName().replace('/', '.').replace(".class", ""));
+        } catch (IOException ignored) {
+          // unreadable entry: treat as not a component
+        }
+      }));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to scan jar for " + path, e);
+    }
+  }
+
+  /** Applies an action to every index in {@code [from, to)}, splitting into {@link #BATCH_SIZE} leaves. */
+  private static final class InspectTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final IntConsumer action;
+
+    InspectTask(int size, IntConsumer action) {
+      this(0, size, action);
+    }
+
+    private InspectTask(int from, int to, IntConsumer action) {
+      this.from = from;
+      this.to = to;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= BATCH_SIZE) {
+        for (int i = from; i < to; i++) action.accept(i);
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new InspectTask(from, mid, action), new InspectTask(mid, to, action));
+    }
+  }
+
+  // ------------------------------------------------------------------------
+  // Class Loading
+  // ------------------------------------------------------------------------
+  private static void loadClassSafely(Set<Class<?>> classes, String className, ClassLoader cl, boolean initialize) {
     try {
-      Class<?> clazz = Class.forName(className);
+      Class<?> clazz = Class.forName(className, initialize, cl);
       if (isAnnotated(clazz)) {
         classes.add(clazz);
       }
@@ -103,6 +233,7 @@ public final class ComponentScanner {
 
   private static boolean isAnnotated(Class<?> clazz) {
     return clazz.isAnnotationPresent(Component.class) ||
-            clazz.isAnnotationPresent(Configuration.class);
+            clazz.isAnnotationPresent(Configuration.class) ||
+            clazz.isAnnotationPresent(Singleton.class);
   }
 }
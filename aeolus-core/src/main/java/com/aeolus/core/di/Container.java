@@ -9,36 +9,113 @@ import jakarta.annotation.*;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
 /**
  * Aeolus DI Container
  * ------------------------------------------------------------
  * Features:
  *  - @Inject constructor, field, setter
- *  - @Scope("singleton"/"prototype"/"thread")
- *  - @Lazy, @Config(prefix)
- *  - @PostConstruct, @PreDestroy lifecycle hooks
- *  - @Resource(name="key") property injection
+ *  - @Scope("singleton"/"prototype"/"thread"/"request"/"context")
+ *  - container.openScope("request") contexts, destroying their beans on close
+ *  - Custom scopes via the ScopeHandler SPI (Builder.scope), e.g. ExpiringScope
+ *  - @Lazy interface proxies, resolving their target once on first call
+ *  - @Config(prefix) binding, compiled per class and bound once per property snapshot;
+ *    nested objects, lists, maps, enums, durations and sizes
+ *  - @PostConstruct, @PreDestroy lifecycle hooks; shutdown runs @PreDestroy dependents-first,
+ *    optionally in parallel with a per-bean timeout
+ *  - Async @PostConstruct (returning CompletionStage): dependents wait only for what they inject,
+ *    container.readiness() completes when all have finished
+ *  - @Resource(name="key") property injection; converters shared with @Config (Builder.converter)
  *  - BeanProcessor hooks
  *  - container.create() manual wiring
  *  - container.stats() runtime introspection
- *  - Metadata cache via .aeolus.cache
+ *  - Per-class InjectionPlan cache (reflection runs once per type)
+ *  - Pluggable InstantiationStrategy (method handles by default, reflection as fallback)
+ *  - Validated binary metadata cache (opt-in via Builder.metadataCache)
+ *    holding component descriptors, so warm starts wire without reading annotations
+ *  - @Bean methods run once on first demand, or in parallel in dependency order with eager init
+ *  - Optional parallel eager singleton initialization in dependency order (Builder.eagerInit)
+ *  - Allocation-free get() for types already resolved to a singleton or @Bean
+ *  - Opt-in build-time graph validation (Builder.validate): cycles, missing and ambiguous
+ *    bindings, scope widening; validated types then resolve without cycle tracking
+ *  - Opt-in frozen mode (Builder.freeze): immutable lookup tables and plans after build()
+ *  - Provider<T> / Supplier<T> injection, bound to T's implementation and scope up front
+ *  - Level-aware logging: trace output is guarded, so it costs nothing unless enabled
+ *  - Opt-in metrics (Builder.metrics): per-type resolution/creation counts and latency
+ *    histograms, per-scope hit rates, optionally published over JMX
+ *  - Opt-in startup timeline (Builder.startupTimeline): nested phase and bean-creation
+ *    spans, exported as Chrome trace JSON and emitted as JFR events
  */
 public final class Container implements AutoCloseable {
 
-    private final Map<Class<?>, Class<?>> bindings = new ConcurrentHashMap<>();
-    private final Map<String, Class<?>> namedBindings = new ConcurrentHashMap<>();
-    private final Map<String, Object> namedBeans = new ConcurrentHashMap<>();
-    private final Map<Class<?>, Object> beans = new ConcurrentHashMap<>();
-    private final Set<Object> managedInstances = Collections.newSetFromMap(new ConcurrentHashMap<>());
-    private final List<BeanProcessor> beanProcessors = new ArrayList<>();
-    private final ScopeManager scopeManager = new ScopeManager();
+    // Registration tables; replaced by immutable copies when the container is frozen.
+    private Map<Class<?>, Class<?>> bindings = new ConcurrentHashMap<>();
+    private Map<String, Class<?>> namedBindings = new ConcurrentHashMap<>();
+    private Map<String, Object> namedBeans = new ConcurrentHashMap<>();
+    private Map<Class<?>, Object> beans = new ConcurrentHashMap<>();
+    private Map<String, Slot> namedSlots = Map.of();
+    private Map<Class<?>, InjectionPlan> frozenPlans = Map.of();
+    private boolean frozen;
+    private final Map<Object, Set<Class<?>>> ambiguous = new LinkedHashMap<>();
+    private final List<LazyBean> lazyBeans = new ArrayList<>();
+    private Set<Class<?>> validated = Set.of();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Map<Object, Managed> managedInstances = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<IdentityRef, Managed> weakInstances = new ConcurrentHashMap<>();
+    // Instances whose async @PostConstruct (or a dependency's) has not finished; the futures never fail.
+    private final Map<IdentityRef, CompletableFuture<Void>> initializing = new ConcurrentHashMap<>();
+    private final List<BeanCreationException> initFailures = new CopyOnWriteArrayList<>();
+    private final AtomicLong managedSequence = new AtomicLong();
+    private BeanProcessor[] beanProcessors = new BeanProcessor[0];
+    private final ScopeManager scopeManager = new ScopeManager(this::destroy);
     private final Properties properties = new Properties();
+    private final ValueConverters converters = new ValueConverters();
+    private final PropertyBinder configBinder = new PropertyBinder(converters);
+    private final Map<Class<?>, InjectionPlan> plans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ComponentDescriptor> descriptors = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Generated> generated = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Long> eagerInitNanos = new ConcurrentHashMap<>();
+    // get() fast path: instances of requested types that resolve to the same object on every call.
+    // Owned by the container, never by the Class, so a cached bean referring back to the
+    // container (a Provider, a @Lazy proxy) cannot keep it reachable.
+    private final Map<Class<?>, Object> stable = new ConcurrentHashMap<>();
+    // Immutable snapshot of the stable instances that exist when the container is frozen.
+    private Map<Class<?>, Object> frozenStable = Map.of();
+    private long eagerTotalNanos;
 
     private Logger log;
+    private ContainerMetrics metrics;
+    private StartupTimeline timeline;
+    private ObjectName metricsMBean;
+    private int shutdownParallelism = 1;
+    private Duration preDestroyTimeout;
+    private volatile boolean closed;
+    private InstantiationStrategy strategy = InstantiationStrategy.methodHandles();
 
     private Container(Logger logger) {
         this.log = (logger != null) ? logger : new ConsoleLogger();
@@ -53,6 +130,11 @@ public final class Container implements AutoCloseable {
 
     public static final class Builder {
         private final Container container = new Container(new ConsoleLogger());
+        private ScanMode scanMode = ScanMode.BYTECODE;
+        private Path cacheFile;
+        private int eagerParallelism;
+        private boolean freeze;
+        private boolean validate;
 
         public Builder logger(Logger logger) {
             container.log = (logger != null) ? logger : new ConsoleLogger();
@@ -60,40 +142,298 @@ public final class Container implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Selects how {@link #scan(String...)} detects components on classpath roots without a
+         * compile-time index. Defaults to {@link ScanMode#BYTECODE}.
+         */
+        public Builder scanMode(ScanMode mode) {
+            this.scanMode = Objects.requireNonNull(mode, "mode");
+            return this;
+        }
+
+        /**
+         * Caches scan results in {@code file} between runs; off by default. The file should be
+         * private to one application and classpath. Pass {@code null} to disable the cache.
+         */
+        public Builder metadataCache(Path file) {
+            this.cacheFile = file;
+            return this;
+        }
+
+        /**
+         * Records a {@link StartupTimeline} of scanning, configuration processing and bean
+         * creation, readable through {@link Container#startupTimeline()}. Call this first:
+         * builder steps before it are not recorded. The timeline stops when {@link #build()}
+         * returns.
+         */
+        public Builder startupTimeline(boolean enabled) {
+            container.timeline = enabled ? new StartupTimeline() : null;
+            return this;
+        }
+
         public Builder scan(String... pkgs) {
-            Set<Class<?>> classes = ComponentScanner.scan(pkgs);
-            if (!classes.isEmpty()) {
-                MetadataCache.save(classes);
-                container.log.info("Scanned packages %s → %d components", Arrays.toString(pkgs), classes.size());
+            StartupTimeline.Phase span = container.phase("scan", String.join(",", pkgs));
+            try {
+                return doScan(pkgs);
+            } finally {
+                end(span);
+            }
+        }
+
+        private Builder doScan(String... pkgs) {
+            ClassLoader cl = Thread.currentThread().getContextClassLoader();
+            if (scanMode == ScanMode.GENERATED) {
+                pkgs = registerGenerated(cl, pkgs);
+                if (pkgs.length == 0) return this;
+            }
+            MetadataCache cache = (cacheFile != null) ? new MetadataCache(cacheFile, container.log) : null;
+
+            Map<Class<?>, ComponentDescriptor> components;
+            StartupTimeline.Phase load = container.phase("cache", "load");
+            try {
+                components = (cache != null) ? cache.load(cl, pkgs) : null;
+            } finally {
+                end(load);
+            }
+            if (components != null) {
+                container.log.info("Loaded %d components from cache %s", components.size(), cacheFile);
             } else {
-                classes = MetadataCache.load(pkgs);
-                if (!classes.isEmpty())
-                    container.log.info("Loaded %d components from cache", classes.size());
+                Map<String, List<ComponentDescriptor>> byPackage = new LinkedHashMap<>();
+                components = new LinkedHashMap<>();
+                for (String pkg : pkgs) {
+                    List<ComponentDescriptor> found = new ArrayList<>();
+                    StartupTimeline.Phase span = container.phase("package", pkg);
+                    try {
+                        for (Class<?> c : ComponentScanner.scan(scanMode, pkg)) {
+                            ComponentDescriptor d = ComponentDescriptor.describe(c);
+                            found.add(d);
+                            components.put(c, d);
+                        }
+                    } finally {
+                        end(span);
+                    }
+                    byPackage.put(pkg, found);
+                }
+                if (cache != null) {
+                    StartupTimeline.Phase save = container.phase("cache", "save");
+                    try {
+                        cache.save(cl, byPackage);
+                    } finally {
+                        end(save);
+                    }
+                }
+
+                if (!components.isEmpty())
+                    container.log.info("Scanned packages %s → %d components", Arrays.toString(pkgs), components.size());
                 else
                     container.log.warn("No components discovered for %s", Arrays.toString(pkgs));
             }
-            for (Class<?> c : classes) {
-                //TODO: Move this to Strategy pattern implementation for future extensibility
-                if (c.isAnnotationPresent(Configuration.class))
-                    container.registerConfiguration(c);
-                else if (c.isAnnotationPresent(Component.class) || c.isAnnotationPresent(Singleton.class))
-                    container.registerComponent(c);
-            }
+            components.forEach(container::register);
             return this;
         }
 
+        /**
+         * Registers the generated factories of every package (or subpackage) of {@code pkgs}
+         * that has a {@link GeneratedRegistry}, and returns the packages that have none.
+         */
+        private String[] registerGenerated(ClassLoader cl, String[] pkgs) {
+            List<GeneratedRegistry> registries = new ArrayList<>();
+            ServiceLoader.load(GeneratedRegistry.class, cl).forEach(registries::add);
+
+            List<String> remaining = new ArrayList<>();
+            int count = 0;
+            for (String pkg : pkgs) {
+                boolean found = false;
+                StartupTimeline.Phase span = container.phase("package", pkg);
+                try {
+                    for (GeneratedRegistry registry : registries) {
+                        String covered = registry.getClass().getPackageName();
+                        if (!covered.equals(pkg) && !covered.startsWith(pkg + ".")) continue;
+                        found = true;
+                        for (GeneratedFactory factory : registry.factories()) {
+                            container.registerGenerated(factory);
+                            count++;
+                        }
+                        for (String name : registry.reflective()) {
+                            Class<?> cls = loadComponent(name, cl);
+                            container.register(cls, ComponentDescriptor.describe(cls));
+                        }
+                    }
+                } finally {
+                    end(span);
+                }
+                if (!found) remaining.add(pkg);
+            }
+            if (count > 0)
+                container.log.info("Registered %d generated components for %s", count, Arrays.toString(pkgs));
+            if (!remaining.isEmpty())
+                container.log.warn("No generated registry for %s; scanning instead", remaining);
+            return remaining.toArray(String[]::new);
+        }
+
+        private static Class<?> loadComponent(String name, ClassLoader cl) {
+            try {
+                return Class.forName(name, false, cl);
+            } catch (ClassNotFoundException e) {
+                throw new BeanCreationException("Generated registry lists missing class " + name, e);
+            }
+        }
+
         public Builder loadProperties(String file) {
+            StartupTimeline.Phase span = container.phase("properties", file);
             try (FileInputStream in = new FileInputStream(file)) {
                 container.properties.load(in);
+                container.configBinder.load(container.properties);
                 container.log.info("Loaded properties: %s (%d entries)", file, container.properties.size());
             } catch (IOException e) {
                 container.log.warn("No properties file found: %s", file);
+            } finally {
+                end(span);
+            }
+            return this;
+        }
+
+        /**
+         * Registers how to convert property strings to {@code type}, for {@code @Resource}
+         * fields and {@code @Config} binding; replaces any built-in conversion of that type
+         * (see {@link ValueConverters}).
+         */
+        public <T> Builder converter(Class<T> type, Function<String, ? extends T> converter) {
+            container.converters.register(type, converter);
+            container.plans.clear();
+            container.configBinder.reset();
+            return this;
+        }
+
+        /**
+         * Selects how beans are constructed and injected. Defaults to
+         * {@link InstantiationStrategy#methodHandles()}; use {@link InstantiationStrategy#reflective()}
+         * where method handle spinning is not permitted.
+         */
+        public Builder instantiationStrategy(InstantiationStrategy strategy) {
+            container.strategy = Objects.requireNonNull(strategy, "strategy");
+            container.plans.clear();
+            container.log.info("Using instantiation strategy: %s", strategy.getClass().getSimpleName());
+            return this;
+        }
+
+        /**
+         * Creates every {@code @Bean} and registered singleton during {@link #build()} instead of
+         * on first {@code get()}. {@code @Bean} methods run first, then singletons; each set is
+         * ordered by injection dependencies, and those whose dependencies are ready are created
+         * concurrently on up to {@code parallelism} threads. A dependency cycle fails the build
+         * before anything is created.
+         */
+        public Builder eagerInit(int parallelism) {
+            if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1: " + parallelism);
+            this.eagerParallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Runs {@code @PreDestroy} hooks on up to {@code parallelism} threads when the container
+         * closes. Beans are always destroyed before the beans they inject; with more than one
+         * thread, independent beans are destroyed concurrently. Defaults to 1, which runs the
+         * hooks on the closing thread.
+         */
+        public Builder shutdownParallelism(int parallelism) {
+            if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1: " + parallelism);
+            container.shutdownParallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Limits how long shutdown waits for each bean's {@code @PreDestroy} hooks, measured from
+         * when they start. A hook that overruns is logged and left running on its (daemon) thread;
+         * it no longer counts against {@link #shutdownParallelism(int)}, and shutdown continues
+         * with the beans it was holding up.
+         */
+        public Builder preDestroyTimeout(Duration timeout) {
+            if (timeout.isNegative() || timeout.isZero())
+                throw new IllegalArgumentException("timeout must be positive: " + timeout);
+            container.preDestroyTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Releases a thread's {@code thread}-scoped beans (running their {@code @PreDestroy})
+         * when the outermost {@link ScopeContext} opened on it closes. Use with thread-per-task
+         * executors, where threads are too numerous and short-lived to hold instances forever.
+         */
+        public Builder releaseThreadScopeOnExit(boolean release) {
+            container.scopeManager.setReleaseThreadScopeOnExit(release);
+            return this;
+        }
+
+        /**
+         * Registers a custom scope, usable as {@code @Scope(name)}. The handler decides how
+         * instances are stored and shared; see {@link ExpiringScope} for a time-bounded cache.
+         */
+        public Builder scope(String name, ScopeHandler handler) {
+            container.scopeManager.register(name, handler);
+            container.plans.clear();
+            container.log.info("Registered scope '%s': %s", name, handler.getClass().getSimpleName());
+            return this;
+        }
+
+        /**
+         * Records per-type resolution counts, creation latency and {@code @PostConstruct} time,
+         * and per-scope hit rates, readable through {@link Container#metrics()}. Off by default;
+         * when off, the only cost is a null check on each resolution. Disabling also cancels
+         * an earlier {@link #metricsMBean(String)}.
+         */
+        public Builder metrics(boolean enabled) {
+            container.metrics = enabled ? new ContainerMetrics() : null;
+            if (!enabled) container.metricsMBean = null;
+            return this;
+        }
+
+        /**
+         * Enables {@link #metrics(boolean) metrics} and publishes them on the platform MBean server
+         * as {@code com.aeolus:type=Container,name=<name>} until the container is closed.
+         */
+        public Builder metricsMBean(String name) {
+            if (container.metrics == null) container.metrics = new ContainerMetrics();
+            try {
+                container.metricsMBean = new ObjectName("com.aeolus", new Hashtable<>(
+                        Map.of("type", "Container", "name", ObjectName.quote(name))));
+            } catch (JMException e) {
+                throw new IllegalArgumentException("Invalid MBean name: " + name, e);
             }
             return this;
         }
 
+        /**
+         * Freezes the container at the end of {@link #build()}: every registered component's
+         * {@link InjectionPlan} is built up front (so a component that cannot be analysed fails
+         * the build), and the type, name and {@code @Bean} tables are replaced by immutable,
+         * open-addressed copies. Lookups then read plain arrays instead of
+         * {@code ConcurrentHashMap} nodes, and the tables take about half the heap. Named
+         * singletons are remembered in a per-name slot instead of being added to the name table.
+         * Off by default; the builder must not be used after {@code build()}.
+         */
+        public Builder freeze(boolean enabled) {
+            this.freeze = enabled;
+            return this;
+        }
+
+        /**
+         * Validates the complete component graph during {@link #build()}, before any bean is
+         * created: dependency cycles, injection points nothing is bound to, types bound by more
+         * than one component, and singletons holding thread-, request- or context-scoped beans
+         * directly (rather than through {@code Provider} or {@code @Lazy}). All problems are
+         * reported together in one {@link GraphValidationException}. Types covered by a
+         * successful validation are then resolved without per-call cycle tracking.
+         */
+        public Builder validate(boolean enabled) {
+            this.validate = enabled;
+            return this;
+        }
+
         public Builder addProcessor(BeanProcessor processor) {
-            container.beanProcessors.add(processor);
+            BeanProcessor[] processors = Arrays.copyOf(container.beanProcessors, container.beanProcessors.length + 1);
+            processors[processors.length - 1] = Objects.requireNonNull(processor, "processor");
+            container.beanProcessors = processors;
             container.log.info("Registered BeanProcessor: %s", processor.getClass().getSimpleName());
             return this;
         }
@@ -101,6 +441,26 @@ public final class Container implements AutoCloseable {
         public Container build() {
             container.log.info("Container initialized with %d bindings, %d named beans",
                     container.bindings.size(), container.namedBeans.size());
+            if (validate) {
+                StartupTimeline.Phase span = container.phase("validate", "graph");
+                try {
+                    container.validate();
+                } finally {
+                    end(span);
+                }
+            }
+            container.ambiguous.clear();
+            if (container.metricsMBean != null) container.registerMetricsMBean();
+            if (eagerParallelism > 0) {
+                StartupTimeline.Phase span = container.phase("eager", "preInstantiate");
+                try {
+                    container.preInstantiate(eagerParallelism);
+                } finally {
+                    end(span);
+                }
+            }
+            if (freeze) container.freeze(eagerParallelism > 0);
+            if (container.timeline != null) container.timeline.stop();
             return container;
         }
     }
@@ -108,23 +468,87 @@ public final class Container implements AutoCloseable {
     // ------------------------------------------------------------------------
     // Public API
     // ------------------------------------------------------------------------
+    @SuppressWarnings("unchecked")
     public <T> T get(Class<T> type) {
-        return resolve(type, null, new HashSet<>());
+        Object instance = frozen ? frozenStable.get(type) : null;
+        if (instance == null) instance = stable.get(type);
+        if (instance != null) {
+            if (metrics != null) {
+                metrics.resolved(type);
+                metrics.lookup("singleton");
+            }
+            return (T) instance;
+        }
+
+        T resolved = resolve(type, null, stackFor(type));
+        if (isStable(type)) stable.put(type, resolved);
+        return resolved;
     }
 
     public Object getByName(String name) {
-        Object bean = namedBeans.get(name);
+        Object bean = namedInstance(name);
         if (bean != null) return bean;
 
         Class<?> type = namedBindings.get(name);
         if (type != null)
-            return resolve(type, name, new HashSet<>());
+            return resolve(type, name, stackFor(type));
 
         throw new ResourceMissingException("No bean named: " + name);
     }
 
     public <T> T create(Class<T> type) {
-        return instantiate(type, new HashSet<>());
+        return instantiate(type, stackFor(type));
+    }
+
+    /**
+     * Opens a {@code request} or {@code context} scope on the calling thread. Beans of that
+     * scope resolved on this thread share one instance until the returned context is closed,
+     * which runs their {@code @PreDestroy} methods:
+     * <pre>
+     * try (ScopeContext ctx = container.openScope("request")) {
+     *     container.get(RequestState.class);
+     * }
+     * </pre>
+     */
+    public ScopeContext openScope(String scope) {
+        return scopeManager.open(scope);
+    }
+
+    /** Current counters; requires {@link Builder#metrics(boolean)}. */
+    public ContainerMetrics.Snapshot metrics() {
+        if (metrics == null)
+            throw new IllegalStateException("Metrics are disabled; enable them with Container.builder().metrics(true)");
+        return metrics.snapshot();
+    }
+
+    /** The recorded boot timeline; requires {@link Builder#startupTimeline(boolean)}. */
+    public StartupTimeline startupTimeline() {
+        if (timeline == null)
+            throw new IllegalStateException("Startup timeline is disabled; enable it with Container.builder().startupTimeline(true)");
+        return timeline;
+    }
+
+    /**
+     * Completes when every async {@code @PostConstruct} started so far has finished: those of
+     * eagerly initialized singletons once {@link Builder#build()} returns, plus any bean created
+     * since. Completes exceptionally with a {@link BeanCreationException} (others suppressed)
+     * if one of them failed; the failing beans stay in the container, as with synchronous hooks.
+     * <pre>
+     * Container c = Container.builder().scan("app").eagerInit(4).build();
+     * server.start(c.get(Api.class));         // warmed components serve traffic now
+     * c.readiness().join();                   // the rest have finished initializing
+     * </pre>
+     */
+    public CompletableFuture<Void> readiness() {
+        return CompletableFuture.allOf(initializing.values().toArray(CompletableFuture<?>[]::new)).thenRun(() -> {
+            List<BeanCreationException> failures = List.copyOf(initFailures);
+            if (failures.isEmpty()) return;
+            if (failures.size() == 1) throw failures.get(0);
+            BeanCreationException failure = new BeanCreationException(
+                    failures.size() + " async PostConstruct methods failed", failures.get(0));
+            for (int i = 1; i < failures.size(); i++) failure.addSuppressed(failures.get(i));
+            throw failure;
+        });
     }
 
     public Map<String, Object> stats() {
@@ -132,18 +556,35 @@ public final class Container implements AutoCloseable {
         map.put("bindings", bindings.size());
         map.put("beans", beans.size());
         map.put("named", namedBeans.size());
-        map.put("managed", managedInstances.size());
+        map.put("managed", managedInstances.size() + weakInstances.size());
+        map.put("managed.weak", weakInstances.size());
         map.put("properties", properties.size());
-        map.put("processors", beanProcessors.size());
+        map.put("processors", beanProcessors.length);
+        map.put("plans", frozenPlans.size() + plans.size());
+        map.put("frozen", frozen);
+        map.put("frozen.instances", frozenStable.size());
+        map.put("initializing", initializing.size());
+        map.put("eager.beans", eagerInitNanos.size());
+        map.put("eager.total.ms", eagerTotalNanos / 1_000_000.0);
+        map.put("eager.init.ms", eagerInitTimes());
         map.put("memory.used.mb",
                 (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024));
         return map;
     }
 
+    /**
+     * Destroys the container's beans: first those held by scopes that destroy their own
+     * instances, then every other bean with {@code @PreDestroy} hooks, dependents before
+     * their dependencies (see {@link Builder#shutdownParallelism(int)}). Later calls do nothing.
+     */
     @Override
     public void close() {
-        log.info("Container shutting down (%d managed beans)...", managedInstances.size());
-        managedInstances.forEach(this::invokePreDestroy);
+        if (closed) return;
+        closed = true;
+        log.info("Container shutting down (%d managed beans)...", managedInstances.size() + weakInstances.size());
+        scopeManager.close();
+        destroyManaged();
+        if (metricsMBean != null) unregisterMetricsMBean();
     }
 
     // ------------------------------------------------------------------------
@@ -154,26 +595,28 @@ public final class Container implements AutoCloseable {
         if (stack.contains(type))
             throw new CircularDependencyException("Circular dependency detected: " + stack + " → " + type);
         stack.add(type);
+        if (metrics != null) metrics.resolved(type);
 
         try {
-            // @Config binding
+            // @Config binding, once per property snapshot
             if (type.isAnnotationPresent(Config.class))
-                return (T) PropertyBinder.bindConfig(type, properties);
+                return configBinder.get(type);
 
             if (name != null) {
-                Object named = namedBeans.get(name);
+                Object named = namedInstance(name);
                 if (named != null) return (T) named;
 
                 Class<?> namedType = namedBindings.get(name);
                 if (namedType != null) {
                     T resolved = instantiate((Class<T>) namedType, stack);
                     if (shouldCacheNamedInstance(namedType))
-                        namedBeans.putIfAbsent(name, resolved);
+                        cacheNamedInstance(name, resolved);
                     return resolved;
                 }
             }
 
-            if (beans.containsKey(type)) return (T) beans.get(type);
+            Object bean = beans.get(type);
+            if (bean != null) return (T) instanceOf(bean);
 
             Class<?> impl = bindings.getOrDefault(type, type);
 
@@ -187,9 +630,9 @@ public final class Container implements AutoCloseable {
 
     private <T> T instantiate(Class<T> impl, Set<Class<?>> stack) {
         try {
-            Scope scope = impl.getAnnotation(Scope.class);
-            String scopeName = (scope != null) ? scope.value() : "singleton";
-            return scopeManager.getOrCreate(scopeName, impl, () -> doInstantiate(impl, stack));
+            InjectionPlan plan = planFor(impl);
+            if (metrics != null) metrics.lookup(plan.scope);
+            return plan.scopeHandler.get(impl, () -> doInstantiate(impl, plan, stack));
         } catch (AeolusException e) {
             throw e;
         } catch (RuntimeException e) {
@@ -199,193 +642,1089 @@ public final class Container implements AutoCloseable {
         }
     }
 
-    private <T> T doInstantiate(Class<T> impl, Set<Class<?>> stack) {
+    private <T> T doInstantiate(Class<T> impl, InjectionPlan plan, Set<Class<?>> stack) {
+        long start = (metrics != null) ? System.nanoTime() : 0L;
+        StartupTimeline.Phase creation = phase("create", impl.getName());
         try {
+            Object[] args = resolveAll(plan.constructorArgs, stack);
+            Object instance = plan.newInstance(args);
 
-            Constructor<?> ctor = selectConstructor(impl);
-            Object[] args = Arrays.stream(ctor.getParameters())
-                    .map(p -> resolve(p.getType(), getName(p), stack))
-                    .toArray();
-            Object instance = ctor.newInstance(args);
-
-            injectFields(impl, instance, stack);
-            injectSetters(impl, instance, stack);
-            injectResources(impl, instance);
+            List<CompletableFuture<Void>> awaiting = null;
+            for (Object arg : args) awaiting = awaitInit(awaiting, arg);
+            awaiting = injectFields(plan, instance, stack, awaiting);
+            awaiting = injectSetters(plan, instance, stack, awaiting);
+            injectResources(plan, instance);
 
             // BeanProcessors
             for (BeanProcessor p : beanProcessors)
                 instance = p.postProcessBeforeInitialization(instance);
 
-            invokePostConstruct(instance);
+            long initStart = (metrics != null) ? System.nanoTime() : 0L;
+            StartupTimeline.Phase init = phase("postConstruct", impl.getName());
+            try {
+                invokePostConstruct(instance, awaiting);
+            } finally {
+                end(init);
+            }
+            long initNanos = (metrics != null) ? System.nanoTime() - initStart : 0L;
 
             for (BeanProcessor p : beanProcessors)
                 instance = p.postProcessAfterInitialization(instance);
 
-            managedInstances.add(instance);
-            log.trace("Created bean: %s", impl.getSimpleName());
+            if (!plan.scopeHandler.destroysInstances() && planFor(instance.getClass()).preDestroy.length > 0)
+                track(impl, plan, instance);
+            if (metrics != null) metrics.created(impl, plan.scope, System.nanoTime() - start, initNanos);
+            if (log.isTraceEnabled()) log.trace("Created bean: %s", impl.getSimpleName());
             return impl.cast(instance);
         } catch (AeolusException e) {
             throw e;
-        } catch (InvocationTargetException e) {
-            Throwable cause = e.getCause();
-            if (cause instanceof AeolusException ae) throw ae;
-            if (cause instanceof RuntimeException re) throw re;
-            throw new BeanCreationException("Failed to create instance of " + impl.getName(), e);
-        } catch (ReflectiveOperationException e) {
-            throw new BeanCreationException("Failed to create instance of " + impl.getName(), e);
         } catch (RuntimeException e) {
             throw e;
+        } catch (Throwable e) {
+            throw new BeanCreationException("Failed to create instance of " + impl.getName(), e);
+        } finally {
+            end(creation);
         }
     }
 
-    private <T> T createLazyProxy(Class<T> type, Set<Class<?>> stack) {
+    private Object[] resolveAll(InjectionPlan.Dependency[] deps, Set<Class<?>> stack) {
+        Object[] args = new Object[deps.length];
+        for (int i = 0; i < deps.length; i++)
+            args[i] = resolveDependency(deps[i], stack);
+        return args;
+    }
+
+    /**
+     * Resolves an injection point: an instance, a bound provider for {@code Provider<T>}/{@code Supplier<T>},
+     * or a proxy for {@code @Lazy}.
+     */
+    private Object resolveDependency(InjectionPlan.Dependency dep, Set<Class<?>> stack) {
+        if (dep.isProvider()) return new BoundProvider<>(dep.providedType(), dep.name());
+        if (dep.lazy()) return createLazyProxy(dep.type(), dep.name());
+        return resolve(dep.type(), dep.name(), stack);
+    }
+
+    private Object createLazyProxy(Class<?> type, String name) {
         Object proxy = Proxy.newProxyInstance(
                 type.getClassLoader(),
-                new Class[]{type},
-                (p, m, args) -> m.invoke(resolve(type, null, stack), args)
+                new Class<?>[]{type},
+                new LazyTarget(new BoundProvider<>(type, name))
         );
-        log.trace("Created @Lazy proxy for %s", type.getSimpleName());
-        return type.cast(proxy);
+        if (log.isTraceEnabled()) log.trace("Created @Lazy proxy for %s", type.getSimpleName());
+        return proxy;
+    }
+
+    private List<CompletableFuture<Void>> injectFields(InjectionPlan plan, Object instance, Set<Class<?>> stack,
+                                                      List<CompletableFuture<Void>> awaiting) throws Throwable {
+        for (InjectionPlan.FieldInjection f : plan.fields) {
+            Object dep = resolveDependency(f.dependency(), stack);
+            f.injector().inject(instance, dep);
+            awaiting = awaitInit(awaiting, dep);
+            if (log.isTraceEnabled()) log.trace("Injected field %s.%s", plan.type.getSimpleName(), f.name());
+        }
+        return awaiting;
+    }
+
+    private List<CompletableFuture<Void>> injectSetters(InjectionPlan plan, Object instance, Set<Class<?>> stack,
+                                                       List<CompletableFuture<Void>> awaiting) throws Throwable {
+        for (InjectionPlan.SetterInjection s : plan.setters) {
+            Object dep = resolveDependency(s.dependency(), stack);
+            s.injector().inject(instance, dep);
+            awaiting = awaitInit(awaiting, dep);
+            if (log.isTraceEnabled())
+                log.trace("Injected setter %s.%s()", plan.type.getSimpleName(), s.name());
+        }
+        return awaiting;
+    }
+
+    private void injectResources(InjectionPlan plan, Object instance) throws Throwable {
+        for (InjectionPlan.ResourceInjection r : plan.resources) {
+            String value = properties.getProperty(r.key());
+            if (value == null)
+                throw new ResourceMissingException("Missing @Resource key: " + r.key());
+            r.injector().inject(instance, r.converter().apply(value));
+            if (log.isTraceEnabled()) log.trace("Injected @Resource %s=%s", r.key(), value);
+        }
+    }
+
+    /**
+     * Runs {@code instance}'s {@code @PostConstruct} hooks once the async initialization of the
+     * dependencies it was injected with ({@code awaiting}, may be {@code null}) has finished.
+     * Synchronous hooks wait for them, so callers never see a bean initialized against a cold
+     * dependency; a bean with an async hook is handed out at once and initializes in the
+     * background. Either way the instance stays in {@link #initializing} until it is ready.
+     */
+    private void invokePostConstruct(Object instance, List<CompletableFuture<Void>> awaiting) {
+        InjectionPlan.LifecycleMethod[] hooks = planFor(instance.getClass()).postConstruct;
+        CompletableFuture<Void> dependencies = (awaiting == null) ? null
+                : CompletableFuture.allOf(awaiting.toArray(CompletableFuture<?>[]::new));
+        boolean async = false;
+        for (InjectionPlan.LifecycleMethod m : hooks) async |= m.async();
+
+        CompletableFuture<Void> init;
+        if (dependencies == null || dependencies.isDone()) {
+            init = runPostConstruct(instance, hooks);
+        } else if (async) {
+            init = dependencies.thenCompose(v -> runPostConstruct(instance, hooks));
+        } else {
+            if (hooks.length > 0) dependencies.join();
+            init = (hooks.length > 0) ? runPostConstruct(instance, hooks) : dependencies;
+        }
+        if (init.isDone()) return;
+        IdentityRef key = new IdentityRef(instance);
+        initializing.put(key, init);
+        init.whenComplete((v, e) -> initializing.remove(key, init));
     }
 
-    private void injectFields(Class<?> impl, Object instance, Set<Class<?>> stack) throws IllegalAccessException {
-        for (Field f : impl.getDeclaredFields()) {
-            if (f.isAnnotationPresent(Inject.class)) {
-                f.setAccessible(true);
-                Object dep = resolve(f.getType(), getName(f), stack);
-                f.set(instance, dep);
-                log.trace("Injected field %s.%s", impl.getSimpleName(), f.getName());
+    /** Invokes {@code hooks} in order; the result completes, always normally, when the async ones have. */
+    private CompletableFuture<Void> runPostConstruct(Object instance, InjectionPlan.LifecycleMethod[] hooks) {
+        List<CompletableFuture<Void>> pending = null;
+        for (InjectionPlan.LifecycleMethod m : hooks) {
+            try {
+                Object result = m.invoker().invoke(instance);
+                if (m.async() && result != null) {
+                    if (pending == null) pending = new ArrayList<>(hooks.length);
+                    pending.add(trackInit(instance, m, (CompletionStage<?>) result));
+                } else if (log.isTraceEnabled()) {
+                    log.trace("PostConstruct executed: %s.%s()", instance.getClass().getSimpleName(), m.name());
+                }
+            } catch (Throwable e) {
+                log.error("PostConstruct failed for %s: %s", instance.getClass().getSimpleName(), e);
             }
         }
+        return (pending == null) ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(pending.toArray(CompletableFuture<?>[]::new));
     }
 
-    private void injectSetters(Class<?> impl, Object instance, Set<Class<?>> stack)
-            throws InvocationTargetException, IllegalAccessException {
-        for (Method m : impl.getDeclaredMethods()) {
-            if (m.isAnnotationPresent(Inject.class) && m.getParameterCount() == 1) {
-                Object dep = resolve(m.getParameterTypes()[0], getName(m.getParameters()[0]), stack);
-                m.setAccessible(true);
-                m.invoke(instance, dep);
-                log.trace("Injected setter %s.%s()", impl.getSimpleName(), m.getName());
+    /** Logs and records the outcome of one async hook; the returned future never fails. */
+    private CompletableFuture<Void> trackInit(Object instance, InjectionPlan.LifecycleMethod m, CompletionStage<?> stage) {
+        return stage.handle((v, e) -> {
+            if (e != null) {
+                Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+                initFailures.add(new BeanCreationException("Async PostConstruct failed for "
+                        + instance.getClass().getName() + "." + m.name() + "()", cause));
+                log.error("PostConstruct failed for %s: %s", instance.getClass().getSimpleName(), cause);
+            } else if (log.isTraceEnabled()) {
+                log.trace("PostConstruct completed: %s.%s()", instance.getClass().getSimpleName(), m.name());
             }
+            return (Void) null;
+        }).toCompletableFuture();
+    }
+
+    /** Adds {@code dependency}'s unfinished initialization to {@code awaiting}, creating the list on demand. */
+    private List<CompletableFuture<Void>> awaitInit(List<CompletableFuture<Void>> awaiting, Object dependency) {
+        if (initializing.isEmpty() || dependency == null) return awaiting;
+        CompletableFuture<Void> init = initializing.get(new IdentityRef(dependency));
+        if (init == null) return awaiting;
+        if (awaiting == null) awaiting = new ArrayList<>(2);
+        awaiting.add(init);
+        return awaiting;
+    }
+
+    /** Destroys an instance discarded before the container closes. */
+    private void destroy(Object instance) {
+        if (managedInstances.remove(instance) == null) {
+            Managed weak = weakInstances.remove(new IdentityRef(instance));
+            if (weak != null) weak.cleanable.clean();
         }
+        invokePreDestroy(instance);
+        if (metrics != null) metrics.destroyed(planFor(instance.getClass()).scope);
     }
 
-    private void injectResources(Class<?> impl, Object instance) throws IllegalAccessException {
-        for (Field f : impl.getDeclaredFields()) {
-            if (f.isAnnotationPresent(Resource.class)) {
-                f.setAccessible(true);
-                String key = f.getAnnotation(Resource.class).name();
-                String value = properties.getProperty(key);
-                if (value == null)
-                    throw new ResourceMissingException("Missing @Resource key: " + key);
-                f.set(instance, convertValue(f.getType(), value));
-                log.trace("Injected @Resource %s=%s", key, value);
+    private void invokePreDestroy(Object instance) {
+        for (InjectionPlan.LifecycleMethod m : planFor(instance.getClass()).preDestroy) {
+            try {
+                m.invoker().invoke(instance);
+                if (log.isTraceEnabled())
+                    log.trace("PreDestroy executed: %s.%s()", instance.getClass().getSimpleName(), m.name());
+            } catch (Throwable e) {
+                log.error("PreDestroy failed for %s: %s", instance.getClass().getSimpleName(), e);
             }
         }
     }
 
-    private void invokePostConstruct(Object instance) {
-        for (Method m : instance.getClass().getDeclaredMethods()) {
-            if (m.isAnnotationPresent(PostConstruct.class)) {
-                try {
-                    m.setAccessible(true);
-                    m.invoke(instance);
-                    log.trace("PostConstruct executed: %s.%s()", instance.getClass().getSimpleName(), m.getName());
-                } catch (Exception e) {
-                    log.error("PostConstruct failed for %s: %s", instance.getClass().getSimpleName(), e);
+    /** Returns the cached {@link InjectionPlan} for {@code type}, analysing the class on first use. */
+    InjectionPlan planFor(Class<?> type) {
+        InjectionPlan plan = frozenPlans.get(type);
+        if (plan != null) return plan;
+        plan = plans.get(type);
+        return (plan != null) ? plan : plans.computeIfAbsent(type, this::buildPlan);
+    }
+
+    private InjectionPlan buildPlan(Class<?> type) {
+        Generated g = generated.get(type);
+        if (g != null) return InjectionPlan.of(g.factory(), g.metadata(), scopeManager, converters);
+        ComponentDescriptor d = descriptors.get(type);
+        return (d != null)
+                ? InjectionPlan.of(type, d, strategy, scopeManager, converters)
+                : InjectionPlan.of(type, strategy, scopeManager, converters);
+    }
+
+    /**
+     * Injected for {@code Provider<T>} and {@code Supplier<T>}. The qualifier, binding and
+     * plan of {@code T} are looked up once, here, so each {@link #get()} goes straight to the
+     * scope handler and, for prototypes, to {@code doInstantiate}. Stable targets (pre-built
+     * beans, singletons) are remembered after the first call.
+     */
+    private final class BoundProvider<T> implements Provider<T>, java.util.function.Supplier<T> {
+        private final Class<T> impl;
+        private final InjectionPlan plan;
+        private final Class<?> requested;
+        private final LazyBean bean;
+        private volatile Object instance;
+
+        @SuppressWarnings("unchecked")
+        BoundProvider(Class<?> type, String name) {
+            this.requested = type;
+            if (type.isAnnotationPresent(Config.class)) {
+                this.impl = null;
+                this.plan = null;
+                this.bean = null;
+                return;
+            }
+
+            // Same precedence as resolve(): named bean, named binding, @Bean, type binding.
+            Object prebuilt = null;
+            Class<?> target = null;
+            if (name != null) {
+                prebuilt = namedBeans.get(name);
+                target = namedBindings.get(name);
+            }
+            if (prebuilt == null && target == null) {
+                prebuilt = beans.get(type);
+                target = bindings.getOrDefault(type, type);
+            }
+
+            this.bean = (prebuilt instanceof LazyBean lazy) ? lazy : null;
+            this.instance = (bean == null) ? prebuilt : null;
+            this.impl = (Class<T>) target;
+            this.plan = (prebuilt == null) ? planFor(target) : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get() {
+            if (metrics != null) metrics.resolved(requested);
+            Object ready = instance;
+            if (ready != null) return (T) ready;
+            if (bean != null) return (T) (instance = bean.get());
+            if (plan == null) return (T) resolve(requested, null, new HashSet<>()); // @Config: bound per snapshot
+
+            if (metrics != null) metrics.lookup(plan.scope);
+            T created = plan.scopeHandler.get(impl, () -> doInstantiate(impl, plan, stackFor(impl)));
+            if (plan.isSingleton()) instance = created;
+            return created;
+        }
+
+        @Override
+        public String toString() {
+            return "Provider<" + requested.getSimpleName() + ">";
+        }
+    }
+
+    /**
+     * Handler behind a {@code @Lazy} proxy. The target is bound when the proxy is injected and
+     * created on the first call, once, under double-checked locking; later calls read one
+     * volatile field and forward. {@code equals}, {@code hashCode} and {@code toString} are
+     * answered by the proxy itself, so they never force creation.
+     */
+    private static final class LazyTarget implements InvocationHandler {
+        private final BoundProvider<?> provider;
+        private volatile Object target;
+
+        LazyTarget(BoundProvider<?> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals": return proxy == args[0];
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "toString": return "Lazy<" + provider.requested.getSimpleName() + ">";
+                    default: break;
+                }
+            }
+            try {
+                return method.invoke(target(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } catch (IllegalAccessException e) {
+                method.setAccessible(true); // non-public interface; the proxy class reuses this Method
+                return invoke(proxy, method, args);
+            }
+        }
+
+        private Object target() {
+            Object t = target;
+            if (t == null) {
+                synchronized (this) {
+                    t = target;
+                    if (t == null) target = t = provider.get();
                 }
             }
+            return t;
         }
     }
 
-    private void invokePreDestroy(Object instance) {
-        for (Method m : instance.getClass().getDeclaredMethods()) {
-            if (m.isAnnotationPresent(PreDestroy.class)) {
+    // ------------------------------------------------------------------------
+    // Freezing
+    // ------------------------------------------------------------------------
+
+    /**
+     * Replaces the registration tables with immutable copies. Nothing is registered after
+     * {@code build()}, so the only runtime write, remembering a named singleton, moves to a
+     * {@link Slot} per name; plans of unregistered types are still built on demand. After eager
+     * init every singleton and {@code @Bean} exists, so {@link #get} serves them all from an
+     * immutable table too; otherwise those created later go through the concurrent one.
+     */
+    private void freeze(boolean eager) {
+        for (Class<?> impl : bindings.values()) planFor(impl);
+        for (Class<?> impl : namedBindings.values()) planFor(impl);
+        if (eager) {
+            Set<Class<?>> types = new HashSet<>(bindings.keySet());
+            types.addAll(bindings.values());
+            types.addAll(beans.keySet());
+            for (Class<?> type : types)
+                if (isStable(type)) get(type);
+        }
+        frozenStable = Map.copyOf(stable);
+
+        Map<String, Slot> slots = new HashMap<>();
+        for (String name : namedBindings.keySet()) slots.put(name, new Slot());
+        for (String name : namedBeans.keySet()) slots.put(name, new Slot());
+        namedBeans.forEach((name, bean) -> slots.get(name).instance = bean);
+
+        bindings = Map.copyOf(bindings);
+        namedBindings = Map.copyOf(namedBindings);
+        namedBeans = Map.copyOf(namedBeans);
+        beans = Map.copyOf(beans);
+        namedSlots = Map.copyOf(slots);
+        frozenPlans = Map.copyOf(plans);
+        plans.clear();
+        frozen = true;
+        log.info("Container frozen: %d plans, %d names, %d instances",
+                frozenPlans.size(), namedSlots.size(), frozenStable.size());
+    }
+
+    // ------------------------------------------------------------------------
+    // Validation
+    // ------------------------------------------------------------------------
+
+    /** How long the built-in scopes keep an instance, relative to each other; prototypes live as long as their holder. */
+    private static final Map<String, Integer> LIFETIMES = Map.of("singleton", 3, "thread", 2, "request", 1, "context", 1);
+
+    /** Stands in for the resolution stack of validated types: records and finds nothing. */
+    private static final Set<Class<?>> UNTRACKED = new AbstractSet<>() {
+        @Override
+        public boolean add(Class<?> type) {
+            return true;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return false;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return false;
+        }
+
+        @Override
+        public Iterator<Class<?>> iterator() {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    };
+
+    /** Notes that {@code key} (a type or a name) was bound to {@code previous} before {@code cls}. */
+    private void recordAmbiguity(Object key, Class<?> previous, Class<?> cls) {
+        if (previous != null && previous != cls)
+            ambiguous.computeIfAbsent(key, k -> new LinkedHashSet<>(List.of(previous))).add(cls);
+    }
+
+    /**
+     * Walks every registered component and {@code @Bean} method and, transitively, everything
+     * they inject, including {@code Provider} and {@code @Lazy} targets, and fails with every
+     * problem found. As in {@link #singletonGraph()}, only injection points resolved while their
+     * owner is built are edges. Nodes are component classes and {@link LazyBean}s.
+     */
+    private void validate() {
+        List<String> problems = new ArrayList<>();
+        ambiguous.forEach((key, impls) -> problems.add("Ambiguous binding for "
+                + (key instanceof Class<?> c ? c.getName() : "@Named(\"" + key + "\")") + ": "
+                + impls.stream().map(Class::getSimpleName).toList()));
+
+        Map<Object, List<Object>> edges = new LinkedHashMap<>();
+        Map<Object, String> scopes = new HashMap<>();
+        Deque<Object> pending = new ArrayDeque<>(bindings.values());
+        pending.addAll(namedBindings.values());
+        pending.addAll(lazyBeans);
+        while (!pending.isEmpty()) {
+            Object node = pending.poll();
+            if (edges.containsKey(node)) continue;
+            List<Object> direct = new ArrayList<>();
+            edges.put(node, direct);
+
+            List<InjectionPlan.Dependency> deps;
+            if (node instanceof LazyBean bean) {
+                deps = Arrays.asList(bean.deps);
+                scopes.put(node, "singleton");
+            } else {
+                InjectionPlan plan;
                 try {
-                    m.setAccessible(true);
-                    m.invoke(instance);
-                    log.trace("PreDestroy executed: %s.%s()", instance.getClass().getSimpleName(), m.getName());
-                } catch (Exception e) {
-                    log.error("PreDestroy failed for %s: %s", instance.getClass().getSimpleName(), e);
+                    plan = planFor((Class<?>) node);
+                } catch (RuntimeException e) {
+                    problems.add(label(node) + " cannot be wired: " + e.getMessage());
+                    continue;
                 }
+                if (plan.constructorError() != null)
+                    problems.add(label(node) + " cannot be created: " + plan.constructorError().getMessage());
+                deps = plan.dependencies();
+                scopes.put(node, plan.scope);
+            }
+            for (InjectionPlan.Dependency dep : deps) {
+                Class<?> type = dep.isProvider() ? dep.providedType() : dep.type();
+                Object target = beanEntry(type, dep.name());
+                if (target == null) {
+                    target = targetOf(type, dep.name());
+                    if (target == null) continue;
+                    if (Modifier.isAbstract(((Class<?>) target).getModifiers())) {
+                        problems.add(label(node) + " injects " + type.getSimpleName()
+                                + (dep.name() != null ? " @Named(\"" + dep.name() + "\")" : "")
+                                + ", but no component or @Bean provides it");
+                        continue;
+                    }
+                } else if (!(target instanceof LazyBean)) {
+                    continue; // already built
+                }
+                pending.add(target);
+                if (!dep.isDeferred()) direct.add(target);
+            }
+        }
+
+        DependencyGraph<Object> graph = new DependencyGraph<>(Container::label);
+        edges.keySet().forEach(graph::addNode);
+        edges.forEach((from, tos) -> tos.forEach(to -> graph.addEdge(from, to)));
+        try {
+            graph.topologicalOrder();
+        } catch (CircularDependencyException e) {
+            problems.add(e.getMessage());
+        }
+
+        for (Object node : edges.keySet()) {
+            Integer lifetime = LIFETIMES.get(scopes.get(node));
+            if (lifetime != null) checkLifetime(node, node, lifetime, edges, scopes, new HashSet<>(), problems);
+        }
+
+        if (!problems.isEmpty()) throw new GraphValidationException(problems);
+        Set<Class<?>> covered = new HashSet<>(bindings.keySet());
+        for (Object node : edges.keySet())
+            covered.add((node instanceof LazyBean bean) ? bean.type : (Class<?>) node);
+        validated = Set.copyOf(covered);
+        log.info("Validated dependency graph: %d components and @Beans", edges.size());
+    }
+
+    /** Reports beans {@code holder} would keep longer than their scope allows, looking through the prototypes it creates. */
+    private void checkLifetime(Object holder, Object node, int lifetime, Map<Object, List<Object>> edges,
+                               Map<Object, String> scopes, Set<Object> seen, List<String> problems) {
+        for (Object dep : edges.get(node)) {
+            String scope = scopes.get(dep);
+            if ("prototype".equals(scope)) {
+                if (seen.add(dep)) checkLifetime(holder, dep, lifetime, edges, scopes, seen, problems);
+                continue;
+            }
+            Integer depLifetime = LIFETIMES.get(scope);
+            if (depLifetime != null && depLifetime < lifetime)
+                problems.add(scopes.get(holder) + " " + label(holder) + " holds " + scope + "-scoped "
+                        + label(dep) + (node != holder ? " through " + label(node) : "")
+                        + "; inject Provider<" + label(dep) + "> or use @Lazy instead");
+        }
+    }
+
+    private static String label(Object node) {
+        return (node instanceof Class<?> c) ? c.getSimpleName() : node.toString();
+    }
+
+    // ------------------------------------------------------------------------
+    // Eager Initialization
+    // ------------------------------------------------------------------------
+
+    /** Graph of all registered singleton implementations and the singletons they inject. */
+    DependencyGraph<Class<?>> singletonGraph() {
+        DependencyGraph<Class<?>> graph = new DependencyGraph<>(Class::getSimpleName);
+        for (Class<?> impl : bindings.values())
+            if (planFor(impl).isSingleton()) graph.addNode(impl);
+        for (Class<?> impl : namedBindings.values())
+            if (planFor(impl).isSingleton()) graph.addNode(impl);
+
+        for (Class<?> node : graph.nodes()) {
+            for (InjectionPlan.Dependency dep : planFor(node).dependencies()) {
+                if (dep.isDeferred()) continue; // resolved on demand, not needed to build node
+                Class<?> target = targetOf(dep.type(), dep.name());
+                if (target != null && graph.contains(target)) graph.addEdge(node, target);
             }
         }
+        return graph;
     }
 
-    private Constructor<?> selectConstructor(Class<?> impl) {
-        return Arrays.stream(impl.getDeclaredConstructors())
-                .filter(c -> c.isAnnotationPresent(Inject.class))
-                .findFirst()
-                .orElseGet(() -> {
+    /** The {@code @Bean} entry {@code type}, qualified by {@code name}, resolves to, or {@code null} if it is not a {@code @Bean}. */
+    private Object beanEntry(Class<?> type, String name) {
+        if (type.isAnnotationPresent(Config.class)) return null;
+        if (name != null) {
+            Object named = namedBeans.get(name);
+            if (named != null) return named;
+            if (namedBindings.containsKey(name)) return null;
+        }
+        return beans.get(type);
+    }
+
+    /**
+     * The implementation {@code type}, qualified by {@code name}, resolves to, or {@code null}
+     * if it is already built or bound elsewhere.
+     */
+    private Class<?> targetOf(Class<?> type, String name) {
+        if (type.isAnnotationPresent(Config.class)) return null;
+        if (name != null) {
+            if (namedBeans.containsKey(name)) return null;
+            Class<?> named = namedBindings.get(name);
+            if (named != null) return named;
+        }
+        if (beans.containsKey(type)) return null;
+        return bindings.getOrDefault(type, type);
+    }
+
+    private void preInstantiate(int parallelism) {
+        long start = System.nanoTime();
+        DependencyGraph<LazyBean> beanGraph = beanGraph();
+        List<LazyBean> beanOrder = beanGraph.topologicalOrder();
+        DependencyGraph<Class<?>> graph = singletonGraph();
+        List<Class<?>> order = graph.topologicalOrder();
+
+        // @Bean results first: the singleton graph treats them as already built
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            runInOrder(beanGraph, beanOrder, LazyBean::get, pool);
+            runInOrder(graph, order, this::initEagerly, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        eagerTotalNanos = System.nanoTime() - start;
+        log.info("Eagerly initialized %d @Beans and %d singletons in %.1f ms (parallelism %d)",
+                beanOrder.size(), order.size(), eagerTotalNanos / 1_000_000.0, parallelism);
+    }
+
+    /** Runs {@code task} on every node of {@code order} on {@code pool}, each once its dependencies are done. */
+    private static <N> void runInOrder(DependencyGraph<N> graph, List<N> order, Consumer<N> task,
+                                       ForkJoinPool pool) {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Map<N, CompletableFuture<Void>> tasks = new HashMap<>();
+        try {
+            for (N node : order) {
+                CompletableFuture<?>[] deps = graph.dependenciesOf(node).stream()
+                        .map(tasks::get)
+                        .toArray(CompletableFuture<?>[]::new);
+                tasks.put(node, CompletableFuture.allOf(deps).thenRunAsync(() -> {
+                    if (failure.get() != null) return; // fail fast: skip work once anything failed
                     try {
-                        Constructor<?> c = impl.getDeclaredConstructor();
-                        c.setAccessible(true);
-                        return c;
-                    } catch (Exception e) {
-                        throw new BeanCreationException("No valid constructor for " + impl.getName(), e);
+                        task.accept(node);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                        throw t;
                     }
-                });
+                }, pool));
+            }
+            CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = (failure.get() != null) ? failure.get() : e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new BeanCreationException("Eager initialization failed", cause);
+        }
+    }
+
+    /**
+     * Graph of all {@code @Bean} methods and the {@code @Bean}s their parameters need, directly
+     * or through the components those inject, so that beans built in parallel never wait on
+     * each other in a cycle.
+     */
+    private DependencyGraph<LazyBean> beanGraph() {
+        DependencyGraph<LazyBean> graph = new DependencyGraph<>(bean -> bean.label);
+        lazyBeans.forEach(graph::addNode);
+        for (LazyBean bean : lazyBeans) {
+            Set<Class<?>> visited = new HashSet<>();
+            Deque<InjectionPlan.Dependency> pending = new ArrayDeque<>(Arrays.asList(bean.deps));
+            while (!pending.isEmpty()) {
+                InjectionPlan.Dependency dep = pending.pop();
+                if (dep.isDeferred()) continue;
+                if (beanEntry(dep.type(), dep.name()) instanceof LazyBean needed) {
+                    graph.addEdge(bean, needed);
+                    continue;
+                }
+                Class<?> target = targetOf(dep.type(), dep.name());
+                if (target != null && !Modifier.isAbstract(target.getModifiers()) && visited.add(target))
+                    pending.addAll(planFor(target).dependencies());
+            }
+        }
+        return graph;
+    }
+
+    private void initEagerly(Class<?> type) {
+        long start = System.nanoTime();
+        resolve(type, null, new HashSet<>());
+        eagerInitNanos.put(type, System.nanoTime() - start);
+    }
+
+    /** Per-bean eager init time in milliseconds, slowest first. */
+    private Map<String, Double> eagerInitTimes() {
+        Map<String, Double> times = new LinkedHashMap<>();
+        eagerInitNanos.entrySet().stream()
+                .sorted(Map.Entry.<Class<?>, Long>comparingByValue().reversed())
+                .forEach(e -> times.put(e.getKey().getName(), e.getValue() / 1_000_000.0));
+        return times;
     }
 
     // ------------------------------------------------------------------------
     // Registration Helpers
     // ------------------------------------------------------------------------
-    private void registerComponent(Class<?> cls) {
-        Named named = cls.getAnnotation(Named.class);
-        if (named != null)
-            namedBindings.put(named.value(), cls);
-
-        Class<?>[] interfaces = cls.getInterfaces();
-        if (interfaces.length == 1)
-            bindings.put(interfaces[0], cls);
+    /** A component wired by its build-time {@link GeneratedFactory} instead of reflection. */
+    private record Generated(GeneratedFactory factory, GeneratedFactory.Metadata metadata) { }
+
+    private void registerGenerated(GeneratedFactory factory) {
+        GeneratedFactory.Metadata metadata = factory.metadata();
+        generated.put(metadata.type, new Generated(factory, metadata));
+        register(metadata.type, metadata.descriptor());
+    }
+
+    private void register(Class<?> cls, ComponentDescriptor d) {
+        descriptors.put(cls, d);
+        if (d.kind() == ComponentDescriptor.Kind.CONFIGURATION)
+            registerConfiguration(cls, d);
         else
-            bindings.put(cls, cls);
+            registerComponent(cls, d);
+    }
+
+    private void registerComponent(Class<?> cls, ComponentDescriptor d) {
+        if (d.name() != null)
+            recordAmbiguity(d.name(), namedBindings.put(d.name(), cls), cls);
 
-        log.trace("Registered component: %s", cls.getSimpleName());
+        try {
+            Class<?> boundAs = ComponentDescriptor.classFor(d.boundAs(), cls.getClassLoader());
+            recordAmbiguity(boundAs, bindings.put(boundAs, cls), cls);
+        } catch (ClassNotFoundException e) {
+            throw new BeanCreationException("Failed to register " + cls.getName(), e);
+        }
+
+        if (log.isTraceEnabled()) log.trace("Registered component: %s", cls.getSimpleName());
     }
 
-    private void registerConfiguration(Class<?> cfg) {
+    /**
+     * Creates the {@code @Configuration} instance and registers each of its {@code @Bean}
+     * methods as a {@link LazyBean}, invoked on first demand or during eager initialization.
+     */
+    private void registerConfiguration(Class<?> cfg, ComponentDescriptor d) {
+        Generated g = generated.get(cfg);
+        StartupTimeline.Phase configuration = phase("configuration", cfg.getName());
         try {
-            Object config = cfg.getDeclaredConstructor().newInstance();
-            log.trace("Processing @Configuration: %s", cfg.getSimpleName());
-
-            for (Method m : cfg.getDeclaredMethods()) {
-                if (m.isAnnotationPresent(Bean.class)) {
-                    Object[] args = Arrays.stream(m.getParameters())
-                            .map(p -> resolve(p.getType(), getName(p), new HashSet<>()))
-                            .toArray();
-                    Object bean = m.invoke(config, args);
-                    Named named = m.getAnnotation(Named.class);
-                    if (named != null) namedBeans.put(named.value(), bean);
-                    else beans.put(m.getReturnType(), bean);
-                    log.trace("Registered @Bean %s -> %s", m.getName(), bean.getClass().getSimpleName());
+            Object config = (g != null) ? g.factory().newInstance(new Object[0])
+                    : cfg.getDeclaredConstructor().newInstance();
+            if (log.isTraceEnabled()) log.trace("Processing @Configuration: %s", cfg.getSimpleName());
+
+            for (int b = 0; b < d.beanMethods().size(); b++) {
+                ComponentDescriptor.BeanMethod bm = d.beanMethods().get(b);
+                String label = cfg.getSimpleName() + "." + bm.method() + "()";
+                LazyBean bean;
+                if (g != null) {
+                    GeneratedFactory.BeanMethod gm = g.metadata().beanMethods.get(b);
+                    int index = b;
+                    bean = new LazyBean(label, gm.returnType(), InjectionPlan.dependenciesOf(gm.params()),
+                            args -> g.factory().bean(index, config, args));
+                } else {
+                    Method m = cfg.getDeclaredMethod(bm.method(),
+                            ComponentDescriptor.typesOf(bm.params(), cfg.getClassLoader()));
+                    m.setAccessible(true);
+                    Class<?>[] types = m.getParameterTypes();
+                    Type[] genericTypes = m.getGenericParameterTypes();
+                    InjectionPlan.Dependency[] deps = new InjectionPlan.Dependency[types.length];
+                    for (int i = 0; i < deps.length; i++)
+                        deps[i] = InjectionPlan.Dependency.of(types[i], genericTypes[i], bm.params().get(i));
+                    bean = new LazyBean(label, m.getReturnType(), deps, args -> m.invoke(config, args));
                 }
+                if (bm.name() != null) namedBeans.put(bm.name(), bean);
+                else beans.put(bean.type, bean);
+                lazyBeans.add(bean);
+                if (log.isTraceEnabled()) log.trace("Registered @Bean %s", label);
             }
-        } catch (Exception e) {
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new BeanCreationException("Failed to process @Configuration " + cfg.getName(), e);
+        } finally {
+            end(configuration);
+        }
+    }
+
+    /**
+     * A {@code @Bean} method and, once invoked, its result. Racing threads wait for the first
+     * caller; a bean that needs itself while being created fails as a cycle on that thread.
+     */
+    private final class LazyBean {
+        final String label;
+        final Class<?> type;
+        final InjectionPlan.Dependency[] deps;
+        private final BeanInvoker invoker;
+        private volatile Object instance;
+        private Thread creator;
+
+        LazyBean(String label, Class<?> type, InjectionPlan.Dependency[] deps, BeanInvoker invoker) {
+            this.label = label;
+            this.type = type;
+            this.deps = deps;
+            this.invoker = invoker;
+        }
+
+        Object get() {
+            Object bean = instance;
+            if (bean != null) return bean;
+            synchronized (this) {
+                if (instance != null) return instance;
+                if (creator == Thread.currentThread())
+                    throw new CircularDependencyException("Circular dependency detected: @Bean " + label + " requires itself");
+                creator = Thread.currentThread();
+                try {
+                    instance = create();
+                } finally {
+                    creator = null;
+                }
+                return instance;
+            }
+        }
+
+        private Object create() {
+            StartupTimeline.Phase span = phase("bean", label);
+            try {
+                Object bean = invoker.invoke(resolveAll(deps, stackFor(type)));
+                if (bean == null) throw new BeanCreationException("@Bean " + label + " returned null", null);
+                if (log.isTraceEnabled()) log.trace("Created @Bean %s -> %s", label, bean.getClass().getSimpleName());
+                return bean;
+            } catch (AeolusException | Error e) {
+                throw e;
+            } catch (InvocationTargetException e) {
+                throw new BeanCreationException("Failed to create @Bean " + label, e.getCause());
+            } catch (Throwable e) {
+                throw new BeanCreationException("Failed to create @Bean " + label, e);
+            } finally {
+                end(span);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BeanInvoker {
+        Object invoke(Object[] args) throws Throwable;
+    }
+
+    // ------------------------------------------------------------------------
+    // Shutdown
+    // ------------------------------------------------------------------------
+
+    /**
+     * Starts tracking an instance whose {@code @PreDestroy} hooks must run on close. Singletons
+     * are held strongly, as the container keeps them anyway. Anything else is held weakly:
+     * the container only needs to destroy it if it is still in use at close, and once the
+     * application drops it a {@link Cleaner} removes its entry.
+     */
+    private void track(Class<?> impl, InjectionPlan plan, Object instance) {
+        long sequence = managedSequence.incrementAndGet();
+        if (plan.isSingleton()) {
+            managedInstances.put(instance, new Managed(impl, instance, sequence));
+            return;
+        }
+        IdentityRef ref = new IdentityRef(instance);
+        Managed managed = new Managed(impl, ref, sequence);
+        Map<IdentityRef, Managed> registry = weakInstances; // the action must not reach the instance
+        managed.cleanable = CLEANER.register(instance, () -> registry.remove(ref));
+        registry.put(ref, managed);
+    }
+
+    /** An instance whose {@code @PreDestroy} hooks run on close; compared by identity. */
+    static final class Managed {
+        final Class<?> type;
+        final long sequence;
+        private final Object instance;
+        private final IdentityRef ref;
+        Cleaner.Cleanable cleanable;
+
+        Managed(Class<?> type, Object instance, long sequence) {
+            this.type = type;
+            this.instance = instance;
+            this.ref = null;
+            this.sequence = sequence;
+        }
+
+        Managed(Class<?> type, IdentityRef ref, long sequence) {
+            this.type = type;
+            this.instance = null;
+            this.ref = ref;
+            this.sequence = sequence;
+        }
+
+        /** The instance, or {@code null} if it was weakly held and has been collected. */
+        Object instance() {
+            return (instance != null) ? instance : ref.get();
+        }
+    }
+
+    /** Weak key that compares and hashes by the identity of its referent. */
+    static final class IdentityRef extends WeakReference<Object> {
+        private final int hash;
+
+        IdentityRef(Object referent) {
+            super(referent);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (!(o instanceof IdentityRef other)) return false;
+            Object referent = get();
+            return referent != null && referent == other.get();
+        }
+    }
+
+    /**
+     * Graph of managed instances with an edge from each to every managed instance of a type it
+     * injects, directly or through unmanaged beans. Edges are per type, so which prototype a
+     * bean actually holds does not matter: it is destroyed before all of them.
+     */
+    DependencyGraph<Managed> shutdownGraph(List<Managed> managed) {
+        DependencyGraph<Managed> graph = new DependencyGraph<>(m -> m.type.getSimpleName());
+        Map<Class<?>, List<Managed>> byType = new HashMap<>();
+        for (Managed m : managed) {
+            graph.addNode(m);
+            byType.computeIfAbsent(m.type, t -> new ArrayList<>()).add(m);
+        }
+
+        Map<Class<?>, Set<Class<?>>> reachable = new HashMap<>();
+        for (Managed m : managed) {
+            Set<Class<?>> types = reachable.computeIfAbsent(m.type, this::injectedTypes);
+            for (Class<?> type : types)
+                for (Managed dep : byType.getOrDefault(type, List.of()))
+                    if (dep != m) graph.addEdge(m, dep);
+        }
+        return graph;
+    }
+
+    /** Implementations {@code type} injects, transitively, through already planned types. */
+    private Set<Class<?>> injectedTypes(Class<?> type) {
+        Set<Class<?>> reached = new HashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>(List.of(type));
+        while (!pending.isEmpty()) {
+            Class<?> next = pending.pop();
+            InjectionPlan plan = frozenPlans.getOrDefault(next, plans.get(next));
+            if (plan == null) continue; // never created, so nothing of it to destroy
+            for (InjectionPlan.Dependency dep : plan.dependencies()) {
+                if (dep.isDeferred()) continue;
+                Class<?> target = targetOf(dep.type(), dep.name());
+                if (target != null && reached.add(target)) pending.push(target);
+            }
+        }
+        return reached;
+    }
+
+    private void destroyManaged() {
+        List<Managed> managed;
+        synchronized (managedInstances) {
+            managed = new ArrayList<>(managedInstances.values());
+            managedInstances.clear();
+        }
+        // Pin weakly held instances that are still alive for the rest of shutdown.
+        for (Managed m : weakInstances.values()) {
+            Object instance = m.instance();
+            if (instance != null) managed.add(new Managed(m.type, instance, m.sequence));
+            m.cleanable.clean();
+        }
+        managed.sort(Comparator.comparingLong(m -> m.sequence));
+
+        DependencyGraph<Managed> graph = shutdownGraph(managed);
+        List<Managed> order;
+        try {
+            order = graph.topologicalOrder();
+        } catch (CircularDependencyException e) {
+            log.warn("Cannot order shutdown (%s); destroying in reverse creation order", e.getMessage());
+            Collections.reverse(managed);
+            managed.forEach(m -> invokePreDestroy(m.instance()));
+            return;
+        }
+        Collections.reverse(order); // dependents first
+
+        if (shutdownParallelism == 1 && preDestroyTimeout == null) {
+            order.forEach(m -> invokePreDestroy(m.instance()));
+            return;
+        }
+        destroyConcurrently(order, graph.reversed());
+    }
+
+    /**
+     * Runs each instance's hooks once all of its dependents' hooks have finished or timed out,
+     * at most {@code shutdownParallelism} at a time. A hook that times out gives up its slot and
+     * keeps its thread, so a stuck hook delays no other bean beyond its own timeout.
+     */
+    private void destroyConcurrently(List<Managed> order, DependencyGraph<Managed> dependents) {
+        ExecutorService pool = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "aeolus-shutdown");
+            t.setDaemon(true);
+            return t;
+        });
+        HookSlots slots = new HookSlots(shutdownParallelism);
+        Map<Managed, CompletableFuture<Void>> tasks = new HashMap<>();
+        try {
+            for (Managed m : order) {
+                CompletableFuture<?>[] after = dependents.dependenciesOf(m).stream()
+                        .map(tasks::get)
+                        .toArray(CompletableFuture<?>[]::new);
+                tasks.put(m, CompletableFuture.allOf(after)
+                        .thenCompose(v -> slots.acquire())
+                        .thenCompose(v -> preDestroyAsync(m, pool))
+                        .whenComplete((v, e) -> slots.release()));
+            }
+            CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Counts running shutdown hooks; {@link #acquire()} completes once one of the slots is free. */
+    private static final class HookSlots {
+        private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private int free;
+
+        HookSlots(int slots) {
+            this.free = slots;
+        }
+
+        synchronized CompletableFuture<Void> acquire() {
+            if (free > 0) {
+                free--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> slot = new CompletableFuture<>();
+            waiting.add(slot);
+            return slot;
+        }
+
+        void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) free++;
+            }
+            if (next != null) next.complete(null);
+        }
+    }
+
+    /** Starts {@code m}'s hooks on their own thread; the timeout, if any, counts from here. */
+    private CompletableFuture<Void> preDestroyAsync(Managed m, ExecutorService pool) {
+        CompletableFuture<Void> hooks = CompletableFuture.runAsync(() -> invokePreDestroy(m.instance()), pool);
+        if (preDestroyTimeout == null) return hooks;
+        return hooks.orTimeout(preDestroyTimeout.toNanos(), TimeUnit.NANOSECONDS).exceptionally(e -> {
+            if (e instanceof TimeoutException)
+                log.warn("PreDestroy of %s did not finish within %d ms; continuing shutdown",
+                        m.type.getSimpleName(), preDestroyTimeout.toMillis());
+            else
+                log.error("PreDestroy failed for %s: %s", m.type.getSimpleName(), e);
+            return null;
+        });
+    }
+
+    // ------------------------------------------------------------------------
+    // Metrics
+    // ------------------------------------------------------------------------
+    private void registerMetricsMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(metrics.mxBean(), ContainerMetricsMXBean.class, true), metricsMBean);
+            log.info("Registered metrics MBean %s", metricsMBean);
+        } catch (JMException e) {
+            throw new AeolusException("Failed to register metrics MBean " + metricsMBean, e);
+        }
+    }
+
+    private void unregisterMetricsMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(metricsMBean);
+        } catch (JMException e) {
+            log.warn("Failed to unregister metrics MBean %s: %s", metricsMBean, e);
         }
     }
 
     // ------------------------------------------------------------------------
     // Utility Helpers
     // ------------------------------------------------------------------------
-    private String getName(AnnotatedElement e) {
-        Named named = e.getAnnotation(Named.class);
-        return (named != null) ? named.value() : null;
+
+    /** Opens a timeline span, or returns {@code null} when tracing is off; pair with {@link #end}. */
+    private StartupTimeline.Phase phase(String category, String name) {
+        return (timeline != null) ? timeline.begin(category, name) : null;
+    }
+
+    /** Closes a span opened by {@link #phase}, if there is one. */
+    private static void end(StartupTimeline.Phase span) {
+        if (span != null) span.close();
+    }
+
+    /** The cycle-detection stack for resolving {@code type}; none if validation covered it. */
+    private Set<Class<?>> stackFor(Class<?> type) {
+        return validated.contains(type) ? UNTRACKED : new HashSet<>();
     }
 
     private boolean shouldCacheNamedInstance(Class<?> type) {
-        Scope scope = type.getAnnotation(Scope.class);
-        return scope == null || "singleton".equals(scope.value());
+        return planFor(type).isSingleton();
+    }
+
+    /** The {@code @Bean} or remembered singleton named {@code name}, or {@code null}. */
+    private Object namedInstance(String name) {
+        Slot slot = namedSlots.get(name);
+        Object bean = (slot != null) ? slot.instance : namedBeans.get(name);
+        return (bean != null) ? instanceOf(bean) : null;
+    }
+
+    /** A {@code beans}/{@code namedBeans} value: the bean itself, created first if it is still a {@link LazyBean}. */
+    private static Object instanceOf(Object bean) {
+        return (bean instanceof LazyBean lazy) ? lazy.get() : bean;
+    }
+
+    private void cacheNamedInstance(String name, Object instance) {
+        Slot slot = namedSlots.get(name);
+        if (slot != null) slot.instance = instance;
+        else namedBeans.putIfAbsent(name, instance);
+    }
+
+    /** Whether {@code get(type)} returns the same instance from now on, so it may skip resolution. */
+    private boolean isStable(Class<?> type) {
+        if (type.isAnnotationPresent(Config.class)) return false;
+        if (beans.containsKey(type)) return true;
+        return planFor(bindings.getOrDefault(type, type)).isSingleton();
     }
 
-    private Object convertValue(Class<?> type, String value) {
-        if (type == String.class) return value;
-        if (type == int.class || type == Integer.class) return Integer.parseInt(value);
-        if (type == long.class || type == Long.class) return Long.parseLong(value);
-        if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(value);
-        if (type == double.class || type == Double.class) return Double.parseDouble(value);
-        return value;
+    /** A remembered named singleton of a frozen container. */
+    private static final class Slot {
+        volatile Object instance;
     }
 }
@@ -0,0 +1,186 @@
+package com.aeolus.core.di;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runtime counters of one container, enabled with {@link Container.Builder#metrics(boolean)}
+ * and read through {@link Container#metrics()}.
+ * <p>
+ * Per type it counts resolutions (instances handed out for that requested type, including
+ * through providers and the {@code get()} fast path) and creations, with a
+ * {@link LatencyHistogram} of creation time and the total spent in {@code @PostConstruct}.
+ * Creation time is inclusive: it covers the dependencies created while wiring the bean.
+ * Per scope it counts lookups (singleton hits of the {@code get()} fast path included),
+ * creations and destroyed instances, from which hit rate and
+ * live instance count follow. All recording is {@link LongAdder}-based; when metrics are
+ * disabled the container holds no instance and skips recording with a null check.
+ */
+public final class ContainerMetrics {
+
+    /** Creation latency of one type, in milliseconds; percentiles are bucket upper bounds. */
+    public record Latency(long count, double meanMillis, double p50Millis, double p99Millis, double maxMillis) { }
+
+    /**
+     * @param resolved          instances handed out for this requested type
+     * @param created           instances of this implementation created
+     * @param postConstructMillis total time spent in its {@code @PostConstruct} methods
+     */
+    public record BeanStats(String type, long resolved, long created, Latency creation, double postConstructMillis) { }
+
+    public record ScopeStats(String scope, long lookups, long created, long destroyed) {
+        /** Share of lookups answered with an existing instance. */
+        public double hitRate() {
+            return (lookups == 0) ? 0 : Math.max(0, lookups - created) / (double) lookups;
+        }
+
+        /** Instances created and not yet destroyed. */
+        public long live() {
+            return created - destroyed;
+        }
+    }
+
+    /** @param beans by type name, slowest p99 creation first */
+    public record Snapshot(double uptimeMillis, Map<String, BeanStats> beans, Map<String, ScopeStats> scopes) { }
+
+    private static final class BeanCounters {
+        final LongAdder resolved = new LongAdder();
+        final LatencyHistogram creation = new LatencyHistogram();
+        final LongAdder postConstructNanos = new LongAdder();
+    }
+
+    private static final class ScopeCounters {
+        final LongAdder lookups = new LongAdder();
+        final LongAdder created = new LongAdder();
+        final LongAdder destroyed = new LongAdder();
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final Map<Class<?>, BeanCounters> beans = new ConcurrentHashMap<>();
+    private final Map<String, ScopeCounters> scopes = new ConcurrentHashMap<>();
+
+    ContainerMetrics() { }
+
+    // ------------------------------------------------------------------------
+    // Recording
+    // ------------------------------------------------------------------------
+    void resolved(Class<?> type) {
+        bean(type).resolved.increment();
+    }
+
+    void lookup(String scope) {
+        scope(scope).lookups.increment();
+    }
+
+    void created(Class<?> type, String scope, long nanos, long postConstructNanos) {
+        BeanCounters b = bean(type);
+        b.creation.record(nanos);
+        b.postConstructNanos.add(postConstructNanos);
+        scope(scope).created.increment();
+    }
+
+    void destroyed(String scope) {
+        scope(scope).destroyed.increment();
+    }
+
+    private BeanCounters bean(Class<?> type) {
+        BeanCounters b = beans.get(type);
+        return (b != null) ? b : beans.computeIfAbsent(type, t -> new BeanCounters());
+    }
+
+    private ScopeCounters scope(String scope) {
+        ScopeCounters s = scopes.get(scope);
+        return (s != null) ? s : scopes.computeIfAbsent(scope, n -> new ScopeCounters());
+    }
+
+    // ------------------------------------------------------------------------
+    // Snapshot
+    // ------------------------------------------------------------------------
+
+    /** A consistent-enough copy of all counters; concurrent updates may or may not be included. */
+    public Snapshot snapshot() {
+        List<BeanStats> list = new ArrayList<>(beans.size());
+        beans.forEach((type, b) -> {
+            LatencyHistogram h = b.creation;
+            long count = h.count();
+            Latency latency = new Latency(count,
+                    (count == 0) ? 0 : millis(h.totalNanos()) / count,
+                    millis(h.percentile(50)), millis(h.percentile(99)), millis(h.maxNanos()));
+            list.add(new BeanStats(type.getName(), b.resolved.sum(), count, latency, millis(b.postConstructNanos.sum())));
+        });
+        list.sort(Comparator.comparingDouble((BeanStats b) -> b.creation().p99Millis()).reversed()
+                .thenComparing(BeanStats::type));
+
+        Map<String, BeanStats> byType = new LinkedHashMap<>();
+        for (BeanStats b : list) byType.put(b.type(), b);
+
+        Map<String, ScopeStats> byScope = new TreeMap<>();
+        scopes.forEach((name, s) ->
+                byScope.put(name, new ScopeStats(name, s.lookups.sum(), s.created.sum(), s.destroyed.sum())));
+
+        return new Snapshot(millis(System.nanoTime() - startNanos),
+                Collections.unmodifiableMap(byType), Collections.unmodifiableMap(byScope));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // ------------------------------------------------------------------------
+    // JMX
+    // ------------------------------------------------------------------------
+
+    /** Adapts {@link #snapshot()} to {@link ContainerMetricsMXBean}; every getter takes a fresh snapshot. */
+    ContainerMetricsMXBean mxBean() {
+        return new ContainerMetricsMXBean() {
+            @Override
+            public double getUptimeMillis() {
+                return millis(System.nanoTime() - startNanos);
+            }
+
+            @Override
+            public Map<String, Long> getResolvedByType() {
+                return byType(BeanStats::resolved);
+            }
+
+            @Override
+            public Map<String, Long> getCreatedByType() {
+                return byType(BeanStats::created);
+            }
+
+            @Override
+            public Map<String, Double> getCreationP99MillisByType() {
+                return byType(b -> b.creation().p99Millis());
+            }
+
+            @Override
+            public Map<String, Double> getPostConstructMillisByType() {
+                return byType(BeanStats::postConstructMillis);
+            }
+
+            @Override
+            public Map<String, Long> getLiveInstancesByScope() {
+                return byScope(ScopeStats::live);
+            }
+
+            @Override
+            public Map<String, Double> getHitRateByScope() {
+                return byScope(ScopeStats::hitRate);
+            }
+
+            private <V> Map<String, V> byType(Function<BeanStats, V> value) {
+                Map<String, V> map = new LinkedHashMap<>();
+                snapshot().beans().forEach((name, b) -> map.put(name, value.apply(b)));
+                return map;
+            }
+
+            private <V> Map<String, V> byScope(Function<ScopeStats, V> value) {
+                Map<String, V> map = new LinkedHashMap<>();
+                snapshot().scopes().forEach((name, s) -> map.put(name, value.apply(s)));
+                return map;
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.aeolus.core.di;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link ContainerMetrics}, registered by {@link Container.Builder#metricsMBean(String)}
+ * as {@code com.aeolus:type=Container,name=<name>}. Per-type maps are keyed by class name.
+ */
+public interface ContainerMetricsMXBean {
+    double getUptimeMillis();
+    Map<String, Long> getResolvedByType();
+    Map<String, Long> getCreatedByType();
+    Map<String, Double> getCreationP99MillisByType();
+    Map<String, Double> getPostConstructMillisByType();
+    Map<String, Long> getLiveInstancesByScope();
+    Map<String, Double> getHitRateByScope();
+}
@@ -0,0 +1,33 @@
+package com.aeolus.core.di;
+
+import java.util.Locale;
+
+/**
+ * A number of bytes, for {@code @Config} and {@code @Resource} fields that hold sizes. Written
+ * as a plain number or with a unit: {@code 512B}, {@code 64K}/{@code 64KB}, {@code 10MB},
+ * {@code 1GB}, {@code 2TB} (powers of 1024). Plain {@code int}/{@code long} fields accept
+ * numbers only, so a stray unit on a count or port is rejected rather than multiplied.
+ */
+public record DataSize(long bytes) {
+
+    public DataSize {
+        if (bytes < 0) throw new IllegalArgumentException("Negative size: " + bytes);
+    }
+
+    public static DataSize parse(String value) {
+        String v = value.trim();
+        int unit = v.length();
+        while (unit > 0 && Character.isLetter(v.charAt(unit - 1))) unit--;
+        if (unit == v.length()) return new DataSize(Long.parseLong(v));
+
+        long multiplier = switch (v.substring(unit).toUpperCase(Locale.ROOT)) {
+            case "B" -> 1L;
+            case "K", "KB" -> 1L << 10;
+            case "M", "MB" -> 1L << 20;
+            case "G", "GB" -> 1L << 30;
+            case "T", "TB" -> 1L << 40;
+            default -> throw new NumberFormatException("Unknown size unit in '" + value + "'");
+        };
+        return new DataSize(Math.multiplyExact(Long.parseLong(v.substring(0, unit).trim()), multiplier));
+    }
+}
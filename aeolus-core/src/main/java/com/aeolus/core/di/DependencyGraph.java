@@ -0,0 +1,88 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.exceptions.CircularDependencyException;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Directed graph with an edge from each node to the nodes it depends on. The container
+ * builds one over implementation classes from its registered bindings and cached
+ * {@link InjectionPlan}s for eager initialization (dependencies that are not nodes —
+ * pre-built {@code @Bean}s, {@code @Config} types, other scopes — are left out), and one over
+ * managed instances to order shutdown.
+ *
+ * @param <N> node type; nodes are compared with {@code equals}
+ */
+final class DependencyGraph<N> {
+
+    private final Map<N, Set<N>> edges = new LinkedHashMap<>();
+    private final Function<? super N, String> label;
+
+    /** @param label names a node in cycle errors */
+    DependencyGraph(Function<? super N, String> label) {
+        this.label = label;
+    }
+
+    void addNode(N node) {
+        edges.computeIfAbsent(node, n -> new LinkedHashSet<>());
+    }
+
+    /** Records that {@code from} depends on {@code to}; both must already be nodes. */
+    void addEdge(N from, N to) {
+        edges.get(from).add(to);
+    }
+
+    boolean contains(N node) {
+        return edges.containsKey(node);
+    }
+
+    Set<N> nodes() {
+        return Collections.unmodifiableSet(edges.keySet());
+    }
+
+    Set<N> dependenciesOf(N node) {
+        return Collections.unmodifiableSet(edges.getOrDefault(node, Collections.emptySet()));
+    }
+
+    /** The same nodes with every edge inverted, so each node points at its dependents. */
+    DependencyGraph<N> reversed() {
+        DependencyGraph<N> reversed = new DependencyGraph<>(label);
+        edges.keySet().forEach(reversed::addNode);
+        edges.forEach((from, tos) -> tos.forEach(to -> reversed.addEdge(to, from)));
+        return reversed;
+    }
+
+    /**
+     * Returns every node after all of its dependencies; unrelated nodes keep insertion order.
+     *
+     * @throws CircularDependencyException naming the cycle, if the graph has one
+     */
+    List<N> topologicalOrder() {
+        List<N> order = new ArrayList<>(edges.size());
+        Set<N> done = new HashSet<>();
+        LinkedHashSet<N> path = new LinkedHashSet<>();
+        for (N node : edges.keySet())
+            visit(node, done, path, order);
+        return order;
+    }
+
+    private void visit(N node, Set<N> done, LinkedHashSet<N> path, List<N> order) {
+        if (done.contains(node)) return;
+        if (!path.add(node)) {
+            List<String> cycle = new ArrayList<>();
+            boolean inCycle = false;
+            for (N n : path) {
+                if (n.equals(node)) inCycle = true;
+                if (inCycle) cycle.add(label.apply(n));
+            }
+            cycle.add(label.apply(node));
+            throw new CircularDependencyException("Circular dependency detected: " + String.join(" → ", cycle));
+        }
+        for (N dep : edges.get(node))
+            visit(dep, done, path, order);
+        path.remove(node);
+        done.add(node);
+        order.add(node);
+    }
+}
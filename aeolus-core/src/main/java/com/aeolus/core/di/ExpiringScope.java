@@ -0,0 +1,120 @@
+package com.aeolus.core.di;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded, time-limited scope: each type's instance is shared until it is {@code ttl} old,
+ * then replaced by a fresh one on the next lookup. At most {@code maxSize} instances are kept;
+ * registering another evicts the oldest. Replaced, evicted and (on container close) remaining
+ * instances have their {@code @PreDestroy} methods run.
+ * <pre>
+ * Container.builder()
+ *         .scope("refresh30s", new ExpiringScope(Duration.ofSeconds(30)))
+ *         ...
+ * </pre>
+ * Live lookups are lock-free; creating or refreshing an instance locks only its type.
+ * Every removal is a compare-and-remove, so each instance is destroyed exactly once.
+ * Instances handed out before a refresh may still be in use when they are destroyed.
+ */
+public final class ExpiringScope implements ScopeHandler {
+
+    private record Entry(Object instance, long createdAt) { }
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<Class<?>, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Object> locks = new ConcurrentHashMap<>();
+    private volatile Consumer<Object> destroyer = instance -> { };
+
+    public ExpiringScope(Duration ttl) {
+        this(ttl, Integer.MAX_VALUE);
+    }
+
+    public ExpiringScope(Duration ttl, int maxSize) {
+        this(ttl, maxSize, System::nanoTime);
+    }
+
+    ExpiringScope(Duration ttl, int maxSize, LongSupplier clock) {
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be >= 1: " + maxSize);
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    @Override
+    public void init(Consumer<Object> destroyer) {
+        this.destroyer = destroyer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Class<T> type, ScopeManager.InstanceFactory<T> factory) {
+        Entry entry = entries.get(type);
+        if (isLive(entry)) return (T) entry.instance();
+
+        synchronized (locks.computeIfAbsent(type, t -> new Object())) {
+            Entry expired = entries.get(type);
+            if (isLive(expired)) return (T) expired.instance();
+
+            T instance = factory.create();
+            // evictExpired() may have removed (and destroyed) the expired entry meanwhile
+            Entry fresh = new Entry(instance, clock.getAsLong());
+            if (expired != null && entries.replace(type, expired, fresh)) destroyer.accept(expired.instance());
+            else entries.put(type, fresh);
+            evictOverflow(type);
+            return instance;
+        }
+    }
+
+    @Override
+    public boolean destroysInstances() {
+        return true;
+    }
+
+    /** Destroys every expired instance now instead of on its next lookup; returns how many. */
+    public int evictExpired() {
+        int evicted = 0;
+        for (Map.Entry<Class<?>, Entry> e : entries.entrySet()) {
+            if (!isLive(e.getValue()) && entries.remove(e.getKey(), e.getValue())) {
+                destroyer.accept(e.getValue().instance());
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void close() {
+        for (Class<?> type : entries.keySet()) {
+            Entry e = entries.remove(type);
+            if (e != null) destroyer.accept(e.instance());
+        }
+    }
+
+    private boolean isLive(Entry entry) {
+        return entry != null && clock.getAsLong() - entry.createdAt() < ttlNanos;
+    }
+
+    private void evictOverflow(Class<?> keep) {
+        while (entries.size() > maxSize) {
+            Map.Entry<Class<?>, Entry> oldest = null;
+            for (Map.Entry<Class<?>, Entry> e : entries.entrySet()) {
+                if (e.getKey() != keep && (oldest == null || e.getValue().createdAt() < oldest.getValue().createdAt()))
+                    oldest = e;
+            }
+            if (oldest == null) return;
+            if (entries.remove(oldest.getKey(), oldest.getValue())) destroyer.accept(oldest.getValue().instance());
+        }
+    }
+}
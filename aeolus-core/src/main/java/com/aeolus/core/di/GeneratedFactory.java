@@ -0,0 +1,180 @@
+package com.aeolus.core.di;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Wiring for one component, generated at build time by {@code aeolus-processor} (with
+ * {@code -Aaeolus.generateFactories=true}) into the component's own package.
+ * <p>
+ * A factory calls the component's constructor, {@code @Inject} fields and setters,
+ * {@code @Resource} fields, lifecycle methods and {@code @Bean} methods directly, and
+ * describes them through {@link #metadata()}, so a container scanning with
+ * {@link ScanMode#GENERATED} builds {@link InjectionPlan}s without annotation lookups,
+ * {@code setAccessible} or method handle spinning. Scopes, bean processors, metrics and
+ * shutdown behave exactly as for reflectively wired components.
+ * <p>
+ * Members are addressed by index in metadata order. Not meant to be implemented by hand.
+ */
+public interface GeneratedFactory {
+
+    /** The component's description; called once, when the component is registered. */
+    Metadata metadata();
+
+    /** Calls the constructor selected in {@link Metadata#constructor(Point...)}. */
+    Object newInstance(Object[] args) throws Throwable;
+
+    /** Sets field or calls setter {@code index}: {@code @Inject} fields, then setters, then {@code @Resource} fields. */
+    void inject(int index, Object target, Object value) throws Throwable;
+
+    /** Calls lifecycle method {@code index}: {@code @PostConstruct} methods, then {@code @PreDestroy} methods. */
+    void invoke(int index, Object target) throws Throwable;
+
+    /** Calls {@code @Bean} method {@code index} on a {@code @Configuration} instance. */
+    default Object bean(int index, Object configuration, Object[] args) throws Throwable {
+        throw new IndexOutOfBoundsException("No @Bean method " + index);
+    }
+
+    /**
+     * One injection point: the declared type, {@code T} for {@code Provider<T>}/{@code Supplier<T>}
+     * (else {@code null}), the {@code @Named} qualifier and whether it is {@code @Lazy}.
+     */
+    record Point(Class<?> type, Class<?> provided, String qualifier, boolean lazy) {
+
+        public static Point of(Class<?> type, String qualifier) {
+            return new Point(type, null, qualifier, false);
+        }
+
+        public static Point provider(Class<?> providerType, Class<?> provided, String qualifier) {
+            return new Point(providerType, provided, qualifier, false);
+        }
+
+        public static Point lazy(Class<?> type, String qualifier) {
+            return new Point(type, null, qualifier, true);
+        }
+
+        InjectionPlan.Dependency dependency() {
+            return new InjectionPlan.Dependency(type, qualifier, provided, lazy);
+        }
+
+        ComponentDescriptor.Point descriptor(String member) {
+            return new ComponentDescriptor.Point(member, type.getName(), qualifier, lazy);
+        }
+    }
+
+    /** A {@code @Resource} field; {@code element} is the element type of a collection, else {@code null}. */
+    record Resource(String field, String key, Class<?> type, Class<?> element) { }
+
+    /** A named member and its injection point. */
+    record Member(String name, Point point) { }
+
+    /** A {@code @Bean} method of a {@code @Configuration} class. */
+    record BeanMethod(String method, Class<?> returnType, String name, List<Point> params) { }
+
+    /** Component description, assembled by generated code. */
+    final class Metadata {
+        final Class<?> type;
+        final boolean configuration;
+        Class<?> boundAs;
+        String name;
+        String scope = "singleton";
+        List<Point> constructor;
+        final List<Member> fields = new ArrayList<>();
+        final List<Member> setters = new ArrayList<>();
+        final List<Resource> resources = new ArrayList<>();
+        final List<String> postConstruct = new ArrayList<>();
+        final List<String> preDestroy = new ArrayList<>();
+        final List<BeanMethod> beanMethods = new ArrayList<>();
+
+        private Metadata(Class<?> type, boolean configuration) {
+            this.type = Objects.requireNonNull(type, "type");
+            this.configuration = configuration;
+            this.boundAs = type;
+        }
+
+        public static Metadata component(Class<?> type) {
+            return new Metadata(type, false);
+        }
+
+        public static Metadata configuration(Class<?> type) {
+            return new Metadata(type, true);
+        }
+
+        public Metadata boundAs(Class<?> boundAs) {
+            this.boundAs = boundAs;
+            return this;
+        }
+
+        public Metadata named(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Metadata scope(String scope) {
+            this.scope = scope;
+            return this;
+        }
+
+        public Metadata constructor(Point... params) {
+            this.constructor = List.of(params);
+            return this;
+        }
+
+        public Metadata field(String name, Point point) {
+            fields.add(new Member(name, point));
+            return this;
+        }
+
+        public Metadata setter(String name, Point point) {
+            setters.add(new Member(name, point));
+            return this;
+        }
+
+        public Metadata resource(String field, String key, Class<?> type, Class<?> element) {
+            resources.add(new Resource(field, key, type, element));
+            return this;
+        }
+
+        public Metadata postConstruct(String method) {
+            postConstruct.add(method);
+            return this;
+        }
+
+        public Metadata preDestroy(String method) {
+            preDestroy.add(method);
+            return this;
+        }
+
+        public Metadata bean(String method, Class<?> returnType, String name, Point... params) {
+            beanMethods.add(new BeanMethod(method, returnType, name, List.of(params)));
+            return this;
+        }
+
+        /** The same description by name, as {@link ComponentDescriptor#describe(Class)} would produce it. */
+        ComponentDescriptor descriptor() {
+            List<ComponentDescriptor.Point> ctor = null;
+            if (constructor != null) {
+                ctor = new ArrayList<>();
+                for (Point p : constructor) ctor.add(p.descriptor(""));
+            }
+            List<ComponentDescriptor.Point> fieldPoints = new ArrayList<>();
+            for (Member m : fields) fieldPoints.add(m.point().descriptor(m.name()));
+            List<ComponentDescriptor.Point> setterPoints = new ArrayList<>();
+            for (Member m : setters) setterPoints.add(m.point().descriptor(m.name()));
+            List<ComponentDescriptor.Point> resourcePoints = new ArrayList<>();
+            for (Resource r : resources)
+                resourcePoints.add(new ComponentDescriptor.Point(r.field(), r.type().getName(), r.key()));
+            List<ComponentDescriptor.BeanMethod> beans = new ArrayList<>();
+            for (BeanMethod b : beanMethods) {
+                List<ComponentDescriptor.Point> params = new ArrayList<>();
+                for (Point p : b.params()) params.add(p.descriptor(""));
+                beans.add(new ComponentDescriptor.BeanMethod(b.method(), params, b.name(), b.returnType().getName()));
+            }
+            return new ComponentDescriptor(type.getName(),
+                    configuration ? ComponentDescriptor.Kind.CONFIGURATION : ComponentDescriptor.Kind.COMPONENT,
+                    boundAs.getName(), name, scope, ctor, fieldPoints, setterPoints, resourcePoints,
+                    List.copyOf(postConstruct), List.copyOf(preDestroy), beans);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.aeolus.core.di;
+
+import java.util.List;
+
+/**
+ * The {@link GeneratedFactory}s of one package, generated by {@code aeolus-processor} and
+ * listed in {@code META-INF/services/com.aeolus.core.di.GeneratedRegistry}.
+ * <p>
+ * {@link ScanMode#GENERATED} loads these through {@link java.util.ServiceLoader} instead of
+ * scanning the classpath; the registry's own package is the package it covers. A package
+ * whose components were generated over several processing rounds has one registry per round.
+ */
+public interface GeneratedRegistry {
+
+    List<GeneratedFactory> factories();
+
+    /** Binary names of the package's components that have no factory and are wired reflectively. */
+    default List<String> reflective() {
+        return List.of();
+    }
+}
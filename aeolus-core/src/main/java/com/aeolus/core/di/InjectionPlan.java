@@ -0,0 +1,307 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.exceptions.BeanCreationException;
+import jakarta.inject.Provider;
+
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Immutable description of how to build and wire one implementation class.
+ * <p>
+ * Computed once per class from its {@link ComponentDescriptor} and reused for every later
+ * creation, so constructor selection, member scanning and annotation lookups happen only
+ * on the first request for a type. All reflective members are made accessible up front and
+ * bound to invokers by the container's {@link InstantiationStrategy}, and the {@code @Scope}
+ * name is resolved to its {@link ScopeHandler}.
+ */
+final class InjectionPlan {
+
+    /**
+     * A single dependency to resolve: the requested type plus an optional {@code @Named} qualifier.
+     * For {@code Provider<T>}/{@code Supplier<T>} injection points {@code providedType} is {@code T}
+     * and the dependency is satisfied by a provider instead of an instance; {@code @Lazy} ones
+     * are satisfied by a proxy of {@code type}.
+     */
+    record Dependency(Class<?> type, String name, Class<?> providedType, boolean lazy) {
+        Dependency(Class<?> type, String name) {
+            this(type, name, null, false);
+        }
+
+        static Dependency of(Class<?> type, Type genericType, ComponentDescriptor.Point point) {
+            return checked(type, genericType, point.qualifier(), providedTypeOf(type, genericType), point.lazy());
+        }
+
+        static Dependency checked(Class<?> type, Type genericType, String name, Class<?> provided, boolean lazy) {
+            if (lazy && (provided != null || !type.isInterface()))
+                throw new BeanCreationException("Cannot apply @Lazy to " + genericType.getTypeName()
+                        + ": only interfaces can be proxied", null);
+            return new Dependency(type, name, provided, lazy);
+        }
+
+        boolean isProvider() {
+            return providedType != null;
+        }
+
+        /** Whether the dependency is resolved on demand rather than when its owner is built. */
+        boolean isDeferred() {
+            return lazy || isProvider();
+        }
+    }
+
+    record FieldInjection(String name, Dependency dependency, InstantiationStrategy.MemberInjector injector) { }
+
+    record SetterInjection(String name, Dependency dependency, InstantiationStrategy.MemberInjector injector) { }
+
+    record ResourceInjection(String name, String key, Function<String, Object> converter,
+                             InstantiationStrategy.MemberInjector injector) { }
+
+    /** A lifecycle hook; {@code async} if it returns a {@code CompletionStage} the container should track. */
+    record LifecycleMethod(String name, boolean async, InstantiationStrategy.MethodInvoker invoker) { }
+
+    private static final Dependency[] NO_DEPENDENCIES = new Dependency[0];
+
+    final Class<?> type;
+    final String scope;
+    final ScopeHandler scopeHandler;
+    final String name;
+    final InstantiationStrategy.ConstructorInvoker constructor;
+    final Dependency[] constructorArgs;
+    final FieldInjection[] fields;
+    final SetterInjection[] setters;
+    final ResourceInjection[] resources;
+    final LifecycleMethod[] postConstruct;
+    final LifecycleMethod[] preDestroy;
+
+    private final BeanCreationException constructorError;
+
+    private InjectionPlan(Class<?> type, String scope, ScopeHandler scopeHandler, String name,
+                          InstantiationStrategy.ConstructorInvoker constructor, Dependency[] constructorArgs,
+                          BeanCreationException constructorError,
+                          FieldInjection[] fields, SetterInjection[] setters,
+                          ResourceInjection[] resources,
+                          LifecycleMethod[] postConstruct, LifecycleMethod[] preDestroy) {
+        this.type = type;
+        this.scope = scope;
+        this.scopeHandler = scopeHandler;
+        this.name = name;
+        this.constructor = constructor;
+        this.constructorArgs = constructorArgs;
+        this.constructorError = constructorError;
+        this.fields = fields;
+        this.setters = setters;
+        this.resources = resources;
+        this.postConstruct = postConstruct;
+        this.preDestroy = preDestroy;
+    }
+
+    static InjectionPlan of(Class<?> type, InstantiationStrategy strategy, ScopeManager scopes,
+                            ValueConverters converters) {
+        return of(type, ComponentDescriptor.describe(type), strategy, scopes, converters);
+    }
+
+    /**
+     * Builds the plan from a descriptor, looking members up by name only. Used directly on
+     * warm starts, where the descriptor comes from the {@link MetadataCache}.
+     */
+    static InjectionPlan of(Class<?> type, ComponentDescriptor d, InstantiationStrategy strategy,
+                            ScopeManager scopes, ValueConverters converters) {
+        ClassLoader cl = loaderOf(type);
+        try {
+            InstantiationStrategy.ConstructorInvoker ctor = null;
+            Dependency[] ctorArgs = NO_DEPENDENCIES;
+            BeanCreationException ctorError = null;
+            if (d.constructor() != null) {
+                Constructor<?> selected = type.getDeclaredConstructor(ComponentDescriptor.typesOf(d.constructor(), cl));
+                selected.setAccessible(true);
+                ctorArgs = dependenciesOf(d.constructor(), selected.getParameterTypes(),
+                        selected.getGenericParameterTypes());
+                ctor = strategy.constructor(selected);
+            } else {
+                // Deferred: the plan is still valid for lifecycle lookups on instances created elsewhere.
+                ctorError = new BeanCreationException("No valid constructor for " + type.getName(), null);
+            }
+
+            FieldInjection[] fields = new FieldInjection[d.fields().size()];
+            for (int i = 0; i < fields.length; i++) {
+                ComponentDescriptor.Point p = d.fields().get(i);
+                Field f = type.getDeclaredField(p.member());
+                f.setAccessible(true);
+                fields[i] = new FieldInjection(f.getName(), Dependency.of(f.getType(), f.getGenericType(), p),
+                        strategy.field(f));
+            }
+
+            SetterInjection[] setters = new SetterInjection[d.setters().size()];
+            for (int i = 0; i < setters.length; i++) {
+                ComponentDescriptor.Point p = d.setters().get(i);
+                Class<?> param = ComponentDescriptor.classFor(p.type(), cl);
+                Method m = type.getDeclaredMethod(p.member(), param);
+                m.setAccessible(true);
+                setters[i] = new SetterInjection(m.getName(),
+                        Dependency.of(param, m.getGenericParameterTypes()[0], p), strategy.setter(m));
+            }
+
+            ResourceInjection[] resources = new ResourceInjection[d.resources().size()];
+            for (int i = 0; i < resources.length; i++) {
+                ComponentDescriptor.Point p = d.resources().get(i);
+                Field f = type.getDeclaredField(p.member());
+                f.setAccessible(true);
+                resources[i] = new ResourceInjection(f.getName(), p.qualifier(),
+                        converterFor(converters.converterFor(f.getGenericType())), strategy.field(f));
+            }
+
+            return new InjectionPlan(type, d.scope(), scopes.handler(d.scope()), d.name(), ctor, ctorArgs, ctorError,
+                    fields, setters, resources,
+                    lifecycle(type, d.postConstruct(), strategy),
+                    lifecycle(type, d.preDestroy(), strategy));
+        } catch (ReflectiveOperationException e) {
+            throw new BeanCreationException("Stale metadata for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Builds the plan of a component with a build-time {@link GeneratedFactory}: every member
+     * is called through the factory, so no reflective member is looked up or made accessible.
+     */
+    static InjectionPlan of(GeneratedFactory factory, GeneratedFactory.Metadata m, ScopeManager scopes,
+                            ValueConverters converters) {
+        InstantiationStrategy.ConstructorInvoker ctor = null;
+        Dependency[] ctorArgs = NO_DEPENDENCIES;
+        BeanCreationException ctorError = null;
+        if (m.constructor != null) {
+            ctorArgs = dependenciesOf(m.constructor);
+            ctor = factory::newInstance;
+        } else {
+            ctorError = new BeanCreationException("No valid constructor for " + m.type.getName(), null);
+        }
+
+        int member = 0;
+        FieldInjection[] fields = new FieldInjection[m.fields.size()];
+        for (int i = 0; i < fields.length; i++, member++) {
+            GeneratedFactory.Member f = m.fields.get(i);
+            fields[i] = new FieldInjection(f.name(), dependencyOf(f.point()), injector(factory, member));
+        }
+        SetterInjection[] setters = new SetterInjection[m.setters.size()];
+        for (int i = 0; i < setters.length; i++, member++) {
+            GeneratedFactory.Member s = m.setters.get(i);
+            setters[i] = new SetterInjection(s.name(), dependencyOf(s.point()), injector(factory, member));
+        }
+        ResourceInjection[] resources = new ResourceInjection[m.resources.size()];
+        for (int i = 0; i < resources.length; i++, member++) {
+            GeneratedFactory.Resource r = m.resources.get(i);
+            resources[i] = new ResourceInjection(r.field(), r.key(),
+                    converterFor(converters.converterFor(r.type(), r.element())), injector(factory, member));
+        }
+
+        LifecycleMethod[] postConstruct = new LifecycleMethod[m.postConstruct.size()];
+        LifecycleMethod[] preDestroy = new LifecycleMethod[m.preDestroy.size()];
+        for (int i = 0; i < postConstruct.length; i++)
+            postConstruct[i] = new LifecycleMethod(m.postConstruct.get(i), false, invoker(factory, i));
+        for (int i = 0; i < preDestroy.length; i++)
+            preDestroy[i] = new LifecycleMethod(m.preDestroy.get(i), false,
+                    invoker(factory, postConstruct.length + i));
+
+        return new InjectionPlan(m.type, m.scope, scopes.handler(m.scope), m.name, ctor, ctorArgs, ctorError,
+                fields, setters, resources, postConstruct, preDestroy);
+    }
+
+    static Dependency dependencyOf(GeneratedFactory.Point p) {
+        return Dependency.checked(p.type(), p.type(), p.qualifier(), p.provided(), p.lazy());
+    }
+
+    static Dependency[] dependenciesOf(List<GeneratedFactory.Point> points) {
+        if (points.isEmpty()) return NO_DEPENDENCIES;
+        Dependency[] deps = new Dependency[points.size()];
+        for (int i = 0; i < deps.length; i++) deps[i] = dependencyOf(points.get(i));
+        return deps;
+    }
+
+    private static InstantiationStrategy.MemberInjector injector(GeneratedFactory factory, int index) {
+        return (target, value) -> factory.inject(index, target, value);
+    }
+
+    private static InstantiationStrategy.MethodInvoker invoker(GeneratedFactory factory, int index) {
+        return target -> {
+            factory.invoke(index, target);
+            return null;
+        };
+    }
+
+    /** Why instances cannot be created (no usable constructor), or {@code null} if they can. */
+    BeanCreationException constructorError() {
+        return constructorError;
+    }
+
+    boolean isSingleton() {
+        return "singleton".equals(scope);
+    }
+
+    /** Every injected dependency: constructor arguments, then fields, then setters. */
+    List<Dependency> dependencies() {
+        List<Dependency> deps = new ArrayList<>(constructorArgs.length + fields.length + setters.length);
+        deps.addAll(Arrays.asList(constructorArgs));
+        for (FieldInjection f : fields) deps.add(f.dependency());
+        for (SetterInjection s : setters) deps.add(s.dependency());
+        return deps;
+    }
+
+    Object newInstance(Object[] args) throws Throwable {
+        if (constructorError != null) throw constructorError;
+        return constructor.newInstance(args);
+    }
+
+    // ------------------------------------------------------------------------
+    // Analysis Helpers
+    // ------------------------------------------------------------------------
+    private static Dependency[] dependenciesOf(List<ComponentDescriptor.Point> points, Class<?>[] types,
+                                               Type[] genericTypes) {
+        if (types.length == 0) return NO_DEPENDENCIES;
+        // Inner-class constructors report the enclosing instance in getParameterTypes() only.
+        int offset = types.length - genericTypes.length;
+        Dependency[] deps = new Dependency[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Type generic = (i >= offset) ? genericTypes[i - offset] : types[i];
+            deps[i] = Dependency.of(types[i], generic, points.get(i));
+        }
+        return deps;
+    }
+
+    /** {@code T} for {@code Provider<T>} and {@code Supplier<T>}, {@code null} for anything else. */
+    private static Class<?> providedTypeOf(Class<?> type, Type genericType) {
+        if (type != Provider.class && type != Supplier.class) return null;
+        if (genericType instanceof ParameterizedType pt) {
+            Type arg = pt.getActualTypeArguments()[0];
+            if (arg instanceof Class<?> c) return c;
+            if (arg instanceof ParameterizedType p && p.getRawType() instanceof Class<?> c) return c;
+        }
+        throw new BeanCreationException("Cannot inject " + genericType.getTypeName()
+                + ": declare the provided type, e.g. Provider<MyService>", null);
+    }
+
+    private static LifecycleMethod[] lifecycle(Class<?> type, List<String> names, InstantiationStrategy strategy)
+            throws NoSuchMethodException {
+        LifecycleMethod[] methods = new LifecycleMethod[names.size()];
+        for (int i = 0; i < methods.length; i++) {
+            Method m = type.getDeclaredMethod(names.get(i));
+            m.setAccessible(true);
+            methods[i] = new LifecycleMethod(m.getName(), CompletionStage.class.isAssignableFrom(m.getReturnType()),
+                    strategy.lifecycle(m));
+        }
+        return methods;
+    }
+
+    private static ClassLoader loaderOf(Class<?> type) {
+        ClassLoader cl = type.getClassLoader();
+        return (cl != null) ? cl : ClassLoader.getSystemClassLoader();
+    }
+
+    /** The shared converter for a resource; unsupported types receive the raw string, as before. */
+    private static Function<String, Object> converterFor(Function<String, Object> converter) {
+        return (converter != null) ? converter : value -> value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.aeolus.core.di;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Turns the reflective members of an {@link InjectionPlan} into invokers.
+ * <p>
+ * A strategy is consulted once per member when a plan is built; the returned invokers
+ * are then called for every instance the container creates. Invokers propagate the
+ * exception thrown by the target member unwrapped.
+ */
+public interface InstantiationStrategy {
+
+    @FunctionalInterface
+    interface ConstructorInvoker {
+        Object newInstance(Object[] args) throws Throwable;
+    }
+
+    @FunctionalInterface
+    interface MemberInjector {
+        void inject(Object target, Object value) throws Throwable;
+    }
+
+    /** Calls a no-argument method, returning its result ({@code null} for {@code void}). */
+    @FunctionalInterface
+    interface MethodInvoker {
+        Object invoke(Object target) throws Throwable;
+    }
+
+    ConstructorInvoker constructor(Constructor<?> ctor);
+
+    MemberInjector field(Field field);
+
+    /** Invoker for a single-argument {@code @Inject} setter. */
+    MemberInjector setter(Method method);
+
+    /** Invoker for a no-argument lifecycle method such as {@code @PostConstruct}. */
+    MethodInvoker lifecycle(Method method);
+
+    /** Plain {@code java.lang.reflect} calls; works everywhere. */
+    static InstantiationStrategy reflective() {
+        return ReflectiveInstantiationStrategy.INSTANCE;
+    }
+
+    /**
+     * Pre-bound {@code MethodHandle}s and {@code LambdaMetafactory} shims. Members that
+     * cannot be bound this way fall back to {@link #reflective()}.
+     */
+    static InstantiationStrategy methodHandles() {
+        return MethodHandleInstantiationStrategy.INSTANCE;
+    }
+}
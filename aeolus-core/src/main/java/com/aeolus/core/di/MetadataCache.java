@@ -1,51 +1,332 @@
 package com.aeolus.core.di;
 
-import java.io.*;
+import com.aeolus.core.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
+/**
+ * Binary, versioned cache of scan results, keyed by base package.
+ * <p>
+ * For every package the cache records the {@link ComponentDescriptor} of each component
+ * found under it — bindings, name, scope and all injection points — and a stamp
+ * (last-modified time, size, file count) of each classpath root that contributes the
+ * package. On startup {@link #load} maps the file read-only and re-stamps those roots
+ * — one {@code stat} per jar, or per file and directory under the package of a directory
+ * root; no class file reads — and only when every requested package
+ * is still valid are its descriptors returned, letting the container skip scanning and
+ * annotation processing entirely.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ *   int magic, int version, int packageCount
+ *   per package: str name, int rootCount, {str url, long lastModified, long size, int files}*,
+ *                int componentCount, {descriptor}*
+ *   descriptor:  str type, byte kind, str boundAs, str name, str scope,
+ *                points constructor (count -1 = none), points fields, points setters,
+ *                points resources, strs postConstruct, strs preDestroy,
+ *                int beanCount, {str method, points params, str name, str returnType}*
+ *   points = int count + {str member, str type, str qualifier, byte lazy}*;  strs = int count + {str}*
+ *   str = int byteLength (-1 = null) + UTF-8 bytes
+ * </pre>
+ */
 public final class MetadataCache {
 
-    private static final String CACHE_FILE = ".aeolus.cache";
+    static final int MAGIC = 0xAE0105CA;
+    static final int VERSION = 4;
+
+    record RootStamp(String url, long lastModified, long size, int files) { }
+
+    record PackageEntry(String name, List<RootStamp> roots, List<ComponentDescriptor> components) { }
+
+    private final Path file;
+    private final Logger log;
+
+    public MetadataCache(Path file, Logger log) {
+        this.file = Objects.requireNonNull(file, "file");
+        this.log = log;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Returns the cached components of all {@code basePackages}, keyed by their (uninitialized)
+     * class, or {@code null} if the cache is missing, was written by another format version,
+     * or any package is stale.
+     */
+    Map<Class<?>, ComponentDescriptor> load(ClassLoader cl, String... basePackages) {
+        Map<String, PackageEntry> entries = read();
+        if (entries.isEmpty()) return null;
+
+        Map<Class<?>, ComponentDescriptor> components = new LinkedHashMap<>();
+        for (String pkg : basePackages) {
+            PackageEntry entry = entries.get(pkg);
+            if (entry == null || !entry.roots().equals(stampRoots(cl, pkg)))
+                return null;
+            for (ComponentDescriptor d : entry.components()) {
+                try {
+                    components.put(Class.forName(d.type(), false, cl), d);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    return null;
+                }
+            }
+        }
+        return components;
+    }
+
+    /** Records the scan result of each package, keeping entries for packages not in the map. */
+    void save(ClassLoader cl, Map<String, List<ComponentDescriptor>> componentsByPackage) {
+        Map<String, PackageEntry> entries = new TreeMap<>(read());
+        for (Map.Entry<String, List<ComponentDescriptor>> e : componentsByPackage.entrySet()) {
+            List<RootStamp> roots = stampRoots(cl, e.getKey());
+            if (roots == null) {
+                entries.remove(e.getKey());
+                continue;
+            }
+            entries.put(e.getKey(), new PackageEntry(e.getKey(), roots, List.copyOf(e.getValue())));
+        }
+        write(entries.values());
+    }
+
+    // ------------------------------------------------------------------------
+    // Staleness Detection
+    // ------------------------------------------------------------------------
 
-    public static void save(Set<Class<?>> components) {
-        if (components == null || components.isEmpty()) return;
-        try (FileWriter fw = new FileWriter(CACHE_FILE)) {
-            for (Class<?> cls : components) {
-                if (cls != null) fw.write(cls.getName() + "\n");
+    /** Stamps every classpath root providing {@code pkg}, or {@code null} if one cannot be stamped. */
+    static List<RootStamp> stampRoots(ClassLoader cl, String pkg) {
+        List<RootStamp> stamps = new ArrayList<>();
+        try {
+            Enumeration<URL> resources = cl.getResources(pkg.replace('.', '/'));
+            while (resources.hasMoreElements()) {
+                RootStamp stamp = stamp(resources.nextElement());
+                if (stamp == null) return null;
+                stamps.add(stamp);
             }
         } catch (IOException e) {
-            System.err.println("Failed to write metadata cache: " + e);
-        }
-    }
-
-    public static Set<Class<?>> load(String... basePackages) {
-        File f = new File(CACHE_FILE);
-        if (!f.exists()) return Collections.emptySet();
-        Set<String> filters = Arrays.stream(basePackages == null ? new String[0] : basePackages)
-                .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .collect(Collectors.toSet());
-        Predicate<String> filter = filters.isEmpty()
-                ? name -> true
-                : name -> filters.stream().anyMatch(name::startsWith);
-        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-            return br.lines()
-                    .map(String::trim)
-                    .filter(line -> !line.isEmpty())
-                    .filter(filter)
-                    .map(MetadataCache::loadClass)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            return null;
+        }
+        stamps.sort(Comparator.comparing(RootStamp::url));
+        return stamps;
+    }
+
+    /** Stamps a {@code file:} directory or {@code jar:} root, or returns {@code null} if it cannot be found. */
+    private static RootStamp stamp(URL url) {
+        String s = url.toExternalForm();
+        try {
+            if ("file".equals(url.getProtocol())) {
+                File dir = Path.of(url.toURI()).toFile();
+                if (!dir.isDirectory()) return null;
+                long[] acc = new long[3];
+                stampDirectory(dir, acc);
+                return new RootStamp(s, acc[0], acc[1], (int) acc[2]);
+            }
+            if ("jar".equals(url.getProtocol())) {
+                URL jarUrl = ((JarURLConnection) url.openConnection()).getJarFileURL();
+                if (!"file".equals(jarUrl.getProtocol())) return null;
+                File jar = Path.of(jarUrl.toURI()).toFile();
+                if (!jar.isFile()) return null;
+                return new RootStamp(s, jar.lastModified(), jar.length(), -1);
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /** Accumulates max mtime (directories included, so deletions count), total size and file count. */
+    private static void stampDirectory(File dir, long[] acc) {
+        acc[0] = Math.max(acc[0], dir.lastModified());
+        File[] children = dir.listFiles();
+        if (children == null) return;
+        for (File f : children) {
+            if (f.isDirectory()) {
+                stampDirectory(f, acc);
+            } else {
+                acc[0] = Math.max(acc[0], f.lastModified());
+                acc[1] += f.length();
+                acc[2]++;
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Binary Format
+    // ------------------------------------------------------------------------
+    private Map<String, PackageEntry> read() {
+        if (!Files.isRegularFile(file)) return Collections.emptyMap();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) return Collections.emptyMap();
+
+            int packages = readCount(buf);
+            Map<String, PackageEntry> entries = new HashMap<>();
+            for (int p = 0; p < packages; p++) {
+                String name = readString(buf);
+                int rootCount = readCount(buf);
+                List<RootStamp> roots = new ArrayList<>(rootCount);
+                for (int r = 0; r < rootCount; r++)
+                    roots.add(new RootStamp(readString(buf), buf.getLong(), buf.getLong(), buf.getInt()));
+                int componentCount = readCount(buf);
+                List<ComponentDescriptor> components = new ArrayList<>(componentCount);
+                for (int c = 0; c < componentCount; c++)
+                    components.add(readDescriptor(buf));
+                entries.put(name, new PackageEntry(name, roots, components));
+            }
+            return entries;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException
+                 | IndexOutOfBoundsException e) {
+            if (log != null) log.warn("Ignoring unreadable metadata cache %s: %s", file, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private void write(Collection<PackageEntry> entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (PackageEntry e : entries) {
+                writeString(out, e.name());
+                out.writeInt(e.roots().size());
+                for (RootStamp r : e.roots()) {
+                    writeString(out, r.url());
+                    out.writeLong(r.lastModified());
+                    out.writeLong(r.size());
+                    out.writeInt(r.files());
+                }
+                out.writeInt(e.components().size());
+                for (ComponentDescriptor d : e.components()) writeDescriptor(out, d);
+            }
+
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, ".aeolus", ".tmp");
+            Files.write(tmp, bytes.toByteArray());
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
-            return Collections.emptySet();
+            if (log != null) log.warn("Failed to write metadata cache %s: %s", file, e);
         }
     }
 
-    private static Class<?> loadClass(String name) {
-        try { return Class.forName(name); }
-        catch (ClassNotFoundException e) { return null; }
+    private static ComponentDescriptor readDescriptor(ByteBuffer buf) {
+        String type = readString(buf);
+        ComponentDescriptor.Kind kind = ComponentDescriptor.Kind.values()[buf.get()];
+        String boundAs = readString(buf);
+        String name = readString(buf);
+        String scope = readString(buf);
+        List<ComponentDescriptor.Point> ctor = readPoints(buf);
+        List<ComponentDescriptor.Point> fields = readPoints(buf);
+        List<ComponentDescriptor.Point> setters = readPoints(buf);
+        List<ComponentDescriptor.Point> resources = readPoints(buf);
+        List<String> postConstruct = readStrings(buf);
+        List<String> preDestroy = readStrings(buf);
+        int beanCount = readCount(buf);
+        List<ComponentDescriptor.BeanMethod> beans = new ArrayList<>(beanCount);
+        for (int i = 0; i < beanCount; i++)
+            beans.add(new ComponentDescriptor.BeanMethod(readString(buf), readPoints(buf), readString(buf), readString(buf)));
+        return new ComponentDescriptor(type, kind, boundAs, name, scope, ctor, fields, setters, resources,
+                postConstruct, preDestroy, beans);
+    }
+
+    private static void writeDescriptor(DataOutputStream out, ComponentDescriptor d) throws IOException {
+        writeString(out, d.type());
+        out.writeByte(d.kind().ordinal());
+        writeString(out, d.boundAs());
+        writeString(out, d.name());
+        writeString(out, d.scope());
+        writePoints(out, d.constructor());
+        writePoints(out, d.fields());
+        writePoints(out, d.setters());
+        writePoints(out, d.resources());
+        writeStrings(out, d.postConstruct());
+        writeStrings(out, d.preDestroy());
+        out.writeInt(d.beanMethods().size());
+        for (ComponentDescriptor.BeanMethod b : d.beanMethods()) {
+            writeString(out, b.method());
+            writePoints(out, b.params());
+            writeString(out, b.name());
+            writeString(out, b.returnType());
+        }
+    }
+
+    private static List<ComponentDescriptor.Point> readPoints(ByteBuffer buf) {
+        if (buf.getInt(buf.position()) == -1) {
+            buf.getInt();
+            return null;
+        }
+        int count = readCount(buf);
+        List<ComponentDescriptor.Point> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            points.add(new ComponentDescriptor.Point(readString(buf), readString(buf), readString(buf), buf.get() != 0));
+        return points;
+    }
+
+    private static void writePoints(DataOutputStream out, List<ComponentDescriptor.Point> points) throws IOException {
+        if (points == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(points.size());
+        for (ComponentDescriptor.Point p : points) {
+            writeString(out, p.member());
+            writeString(out, p.type());
+            writeString(out, p.qualifier());
+            out.writeByte(p.lazy() ? 1 : 0);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer buf) {
+        int count = readCount(buf);
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) strings.add(readString(buf));
+        return strings;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String s : strings) writeString(out, s);
+    }
+
+    private static int readCount(ByteBuffer buf) {
+        int count = buf.getInt();
+        if (count < 0 || count > buf.remaining()) throw new IllegalArgumentException("Corrupt count " + count);
+        return count;
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len == -1) return null;
+        if (len < 0 || len > buf.remaining()) throw new IllegalArgumentException("Corrupt string length " + len);
+        byte[] b = new byte[len];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
     }
 }
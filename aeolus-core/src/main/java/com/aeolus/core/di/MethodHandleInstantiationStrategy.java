@@ -0,0 +1,123 @@
+package com.aeolus.core.di;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link InstantiationStrategy} that binds every member once and then calls it without
+ * {@code java.lang.reflect} overhead.
+ * <p>
+ * No-argument constructors, setters and lifecycle methods are spun into
+ * {@link Supplier}/{@link BiConsumer}/{@link Consumer}/{@link Function} implementations through
+ * {@link LambdaMetafactory}, which the JIT can inline like hand-written code. Everything
+ * else (multi-argument constructors, field writes, primitive setters) goes through a
+ * type-erased, pre-spread {@link MethodHandle}. If neither can be bound — for example
+ * because the declaring module does not open the package — the member falls back to
+ * the {@link ReflectiveInstantiationStrategy}.
+ */
+final class MethodHandleInstantiationStrategy implements InstantiationStrategy {
+
+    static final MethodHandleInstantiationStrategy INSTANCE = new MethodHandleInstantiationStrategy();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType FIELD_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final InstantiationStrategy fallback = ReflectiveInstantiationStrategy.INSTANCE;
+
+    private MethodHandleInstantiationStrategy() { }
+
+    @Override
+    public ConstructorInvoker constructor(Constructor<?> ctor) {
+        try {
+            MethodHandle mh = LOOKUP.unreflectConstructor(ctor);
+            int arity = ctor.getParameterCount();
+            if (arity == 0) {
+                Supplier<?> supplier = spin(ctor.getDeclaringClass(), Supplier.class, "get",
+                        MethodType.methodType(Object.class), mh, MethodType.methodType(ctor.getDeclaringClass()));
+                if (supplier != null) return args -> supplier.get();
+            }
+            MethodHandle spread = mh.asType(MethodType.genericMethodType(arity))
+                    .asSpreader(Object[].class, arity);
+            return args -> (Object) spread.invokeExact(args);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return fallback.constructor(ctor);
+        }
+    }
+
+    @Override
+    public MemberInjector field(Field field) {
+        try {
+            MethodHandle mh = LOOKUP.unreflectSetter(field).asType(FIELD_SETTER);
+            return (target, value) -> { mh.invokeExact(target, value); };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return fallback.field(field);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MemberInjector setter(Method method) {
+        try {
+            MethodHandle mh = LOOKUP.unreflect(method);
+            Class<?> param = method.getParameterTypes()[0];
+            if (!param.isPrimitive()) {
+                BiConsumer<Object, Object> consumer = spin(method.getDeclaringClass(), BiConsumer.class, "accept",
+                        FIELD_SETTER, mh, MethodType.methodType(void.class, method.getDeclaringClass(), param));
+                if (consumer != null) return consumer::accept;
+            }
+            MethodHandle erased = mh.asType(FIELD_SETTER);
+            return (target, value) -> { erased.invokeExact(target, value); };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return fallback.setter(method);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MethodInvoker lifecycle(Method method) {
+        try {
+            MethodHandle mh = LOOKUP.unreflect(method);
+            Class<?> owner = method.getDeclaringClass();
+            if (method.getReturnType() == void.class) {
+                Consumer<Object> consumer = spin(owner, Consumer.class, "accept",
+                        MethodType.methodType(void.class, Object.class), mh, MethodType.methodType(void.class, owner));
+                if (consumer != null) return target -> {
+                    consumer.accept(target);
+                    return null;
+                };
+            } else {
+                Function<Object, Object> function = spin(owner, Function.class, "apply",
+                        MethodType.methodType(Object.class, Object.class), mh,
+                        MethodType.methodType(method.getReturnType(), owner));
+                if (function != null) return function::apply;
+            }
+            MethodHandle erased = mh.asType(MethodType.methodType(Object.class, Object.class));
+            return target -> (Object) erased.invokeExact(target);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return fallback.lifecycle(method);
+        }
+    }
+
+    /**
+     * Spins a {@code LambdaMetafactory} implementation of {@code iface} inside {@code owner}'s
+     * nest, or returns {@code null} when the owner does not grant private access.
+     */
+    @SuppressWarnings("unchecked")
+    private static <F> F spin(Class<?> owner, Class<?> iface, String sam, MethodType samType,
+                              MethodHandle impl, MethodType instantiated) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, LOOKUP);
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup, sam, MethodType.methodType(iface), samType, impl, instantiated);
+            return (F) site.getTarget().invoke();
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+}
@@ -1,36 +1,260 @@
 package com.aeolus.core.di;
 
 import com.aeolus.core.di.annotations.Config;
+import com.aeolus.core.di.exceptions.BeanCreationException;
 
-import java.lang.reflect.Field;
-import java.util.Properties;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+/**
+ * Binds {@code @Config(prefix)} classes from properties.
+ * <p>
+ * Each class is compiled once into a binder: its no-arg constructor, its instance fields and,
+ * per field, either a converter from the shared {@link ValueConverters} or the binder of a
+ * nested type. Binding then only looks keys up and applies the converters. Besides value
+ * types, fields may be
+ * <ul>
+ *   <li>nested objects, bound from {@code prefix.field.*};</li>
+ *   <li>{@code List}/{@code Set}s, from a comma-separated value or indexed keys
+ *       {@code prefix.field[0]}, {@code prefix.field[1]}, ... (for objects, {@code prefix.field[0].*});</li>
+ *   <li>{@code Map<String, V>}s, from {@code prefix.field.<key>} (for objects, {@code prefix.field.<key>.*}).</li>
+ * </ul>
+ * The container binds through {@link #get(Class)}, which keeps one instance per type for the
+ * current property snapshot, so reading configuration on a request path does no parsing.
+ */
 public final class PropertyBinder {
 
+    /**
+     * Binders for {@link #bindConfig}, one per {@code @Config} type and stored with that type, so
+     * a type whose class loader is discarded is collected with it rather than kept here.
+     */
+    private static final ClassValue<PropertyBinder> SHARED = new ClassValue<>() {
+        @Override
+        protected PropertyBinder computeValue(Class<?> type) {
+            return new PropertyBinder(new ValueConverters());
+        }
+    };
+
+    private final ValueConverters converters;
+    private final Map<Class<?>, TypeBinder> compiled = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Object> bound = new ConcurrentHashMap<>();
+    private volatile Source snapshot = new Source(Collections.emptyNavigableMap());
+
+    public PropertyBinder(ValueConverters converters) {
+        this.converters = Objects.requireNonNull(converters, "converters");
+    }
+
+    /** Binds a fresh instance of {@code type} from {@code props}, using compiled binders shared across calls. */
     public static Object bindConfig(Class<?> type, Properties props) {
-        try {
-            Config cfg = type.getAnnotation(Config.class);
-            String prefix = cfg.prefix() + ".";
-            Object instance = type.getDeclaredConstructor().newInstance();
-            for (Field f : type.getDeclaredFields()) {
-                String key = prefix + f.getName();
-                if (props.containsKey(key)) {
-                    f.setAccessible(true);
-                    f.set(instance, convertValue(f.getType(), props.getProperty(key)));
+        return SHARED.get(type).bind(type, props);
+    }
+
+    /** Binds a fresh instance of {@code type} from {@code props}. */
+    public <T> T bind(Class<T> type, Properties props) {
+        return type.cast(bind(type, Source.of(props)));
+    }
+
+    /** Returns the instance of {@code type} bound from the current snapshot, binding it on first use. */
+    public <T> T get(Class<T> type) {
+        Object instance = bound.get(type);
+        if (instance == null) instance = bound.computeIfAbsent(type, t -> bind(t, snapshot));
+        return type.cast(instance);
+    }
+
+    /** Replaces the snapshot read by {@link #get(Class)}, dropping instances bound from the previous one. */
+    void load(Properties props) {
+        snapshot = Source.of(props);
+        bound.clear();
+    }
+
+    /** Drops compiled binders and bound instances, e.g. after a converter was registered. */
+    void reset() {
+        compiled.clear();
+        bound.clear();
+    }
+
+    private Object bind(Class<?> type, Source source) {
+        Config cfg = type.getAnnotation(Config.class);
+        if (cfg == null) throw new IllegalArgumentException(type.getName() + " is not annotated with @Config");
+        return binderFor(type).bind(source, cfg.prefix(), true);
+    }
+
+    private TypeBinder binderFor(Class<?> type) {
+        TypeBinder binder = compiled.get(type);
+        return (binder != null) ? binder : compiled.computeIfAbsent(type, this::compile);
+    }
+
+    // ------------------------------------------------------------------------
+    // Compilation
+    // ------------------------------------------------------------------------
+
+    /** Binds one field's value found under {@code key}; returns {@code null} if there is none. */
+    @FunctionalInterface
+    private interface Binding {
+        Object bind(Source source, String key);
+    }
+
+    private record FieldBinder(Field field, String name, Binding binding) { }
+
+    private final class TypeBinder {
+        final Class<?> type;
+        final Constructor<?> constructor;
+        final FieldBinder[] fields;
+
+        TypeBinder(Class<?> type, Constructor<?> constructor, FieldBinder[] fields) {
+            this.type = type;
+            this.constructor = constructor;
+            this.fields = fields;
+        }
+
+        /** Returns the bound instance, or {@code null} if nothing was bound and the instance is optional. */
+        Object bind(Source source, String prefix, boolean required) {
+            if (!required && !source.hasPrefix(prefix + ".")) return null;
+            Object instance;
+            try {
+                instance = constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new BeanCreationException("Failed to instantiate config " + type.getName(), e);
+            }
+            for (FieldBinder f : fields) {
+                String key = prefix + "." + f.name();
+                Object value;
+                try {
+                    value = f.binding().bind(source, key);
+                } catch (BeanCreationException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    throw new BeanCreationException("Failed to bind config " + type.getName() + " from '" + key + "'", e);
+                }
+                if (value == null) continue;
+                try {
+                    f.field().set(instance, value);
+                } catch (IllegalAccessException e) {
+                    throw new BeanCreationException("Cannot set config field " + f.field(), e);
                 }
             }
             return instance;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to bind config for " + type.getName(), e);
         }
     }
 
-    private static Object convertValue(Class<?> t, String v) {
-        if (t == String.class) return v;
-        if (t == int.class || t == Integer.class) return Integer.parseInt(v);
-        if (t == long.class || t == Long.class) return Long.parseLong(v);
-        if (t == boolean.class || t == Boolean.class) return Boolean.parseBoolean(v);
-        if (t == double.class || t == Double.class) return Double.parseDouble(v);
-        return v;
+    private TypeBinder compile(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()))
+            throw new BeanCreationException("Cannot bind config to abstract type " + type.getName(), null);
+        Constructor<?> ctor;
+        try {
+            ctor = type.getDeclaredConstructor();
+            ctor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new BeanCreationException("Config type " + type.getName() + " needs a no-arg constructor", e);
+        }
+
+        List<FieldBinder> fields = new ArrayList<>();
+        for (Field f : type.getDeclaredFields()) {
+            int mod = f.getModifiers();
+            if (Modifier.isStatic(mod) || Modifier.isFinal(mod) || f.isSynthetic()) continue;
+            f.setAccessible(true);
+            fields.add(new FieldBinder(f, f.getName(), bindingFor(f.getType(), f.getGenericType())));
+        }
+        return new TypeBinder(type, ctor, fields.toArray(FieldBinder[]::new));
+    }
+
+    private Binding bindingFor(Class<?> raw, Type generic) {
+        Function<String, Object> convert = converters.converterFor(generic);
+        if (ValueConverters.isCollection(raw)) return collectionBinding(raw, generic, convert);
+        if (raw == Map.class) return mapBinding(generic);
+        if (convert != null) return (source, key) -> {
+            String value = source.get(key);
+            return (value != null) ? convert.apply(value) : null;
+        };
+        if (raw.isPrimitive() || raw.isArray() || raw.getName().startsWith("java."))
+            return (source, key) -> {
+                if (source.get(key) == null) return null;
+                throw new BeanCreationException("No converter for " + generic.getTypeName()
+                        + " (register one with Container.Builder#converter)", null);
+            };
+        return (source, key) -> binderFor(raw).bind(source, key, false);
+    }
+
+    /** Comma-separated in one key, or indexed {@code key[0]}, {@code key[1]}, ... */
+    @SuppressWarnings("unchecked")
+    private Binding collectionBinding(Class<?> raw, Type generic, Function<String, Object> joined) {
+        Class<?> element = elementType(generic, 0);
+        Binding each = bindingFor(element, element);
+        boolean set = Set.class.isAssignableFrom(raw);
+        return (source, key) -> {
+            if (joined != null) {
+                String value = source.get(key);
+                if (value != null) return joined.apply(value);
+            }
+            Collection<Object> values = set ? new LinkedHashSet<>() : new ArrayList<>();
+            for (int i = 0; ; i++) {
+                Object value = each.bind(source, key + "[" + i + "]");
+                if (value == null) break;
+                values.add(value);
+            }
+            if (values.isEmpty()) return null;
+            return set ? Collections.unmodifiableSet((Set<Object>) values)
+                    : Collections.unmodifiableList((List<Object>) values);
+        };
+    }
+
+    /** Entries {@code key.<name>}, or {@code key.<name>.*} for object values; names in key order. */
+    private Binding mapBinding(Type generic) {
+        if (elementType(generic, 0) != String.class)
+            throw new BeanCreationException("Config maps must have String keys: " + generic.getTypeName(), null);
+        Class<?> valueType = elementType(generic, 1);
+        Binding each = bindingFor(valueType, valueType);
+        boolean scalar = converters.converterFor(valueType) != null;
+        return (source, key) -> {
+            String prefix = key + ".";
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (String sub : source.under(prefix).keySet()) {
+                String name = sub.substring(prefix.length());
+                if (!scalar) {
+                    int dot = name.indexOf('.');
+                    if (dot < 0) continue;
+                    name = name.substring(0, dot);
+                }
+                if (!map.containsKey(name)) map.put(name, each.bind(source, prefix + name));
+            }
+            return map.isEmpty() ? null : Collections.unmodifiableMap(map);
+        };
+    }
+
+    private static Class<?> elementType(Type generic, int index) {
+        if (generic instanceof ParameterizedType p) {
+            Type arg = p.getActualTypeArguments()[index];
+            if (arg instanceof Class<?> c) return c;
+            if (arg instanceof ParameterizedType pa && pa.getRawType() instanceof Class<?> c) return c;
+        }
+        throw new BeanCreationException("Declare the element type of config field " + generic.getTypeName(), null);
+    }
+
+    // ------------------------------------------------------------------------
+    // Property Source
+    // ------------------------------------------------------------------------
+
+    /** Immutable, sorted copy of a {@link Properties}, so prefix lookups are range queries. */
+    private record Source(NavigableMap<String, String> entries) {
+        static Source of(Properties props) {
+            NavigableMap<String, String> entries = new TreeMap<>();
+            for (String name : props.stringPropertyNames()) entries.put(name, props.getProperty(name));
+            return new Source(Collections.unmodifiableNavigableMap(entries));
+        }
+
+        String get(String key) {
+            return entries.get(key);
+        }
+
+        NavigableMap<String, String> under(String prefix) {
+            return entries.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+
+        boolean hasPrefix(String prefix) {
+            String next = entries.ceilingKey(prefix);
+            return next != null && next.startsWith(prefix);
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.aeolus.core.di;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * {@link InstantiationStrategy} backed by {@code Constructor.newInstance},
+ * {@code Field.set} and {@code Method.invoke}. Members must already be accessible.
+ */
+final class ReflectiveInstantiationStrategy implements InstantiationStrategy {
+
+    static final ReflectiveInstantiationStrategy INSTANCE = new ReflectiveInstantiationStrategy();
+
+    private ReflectiveInstantiationStrategy() { }
+
+    @Override
+    public ConstructorInvoker constructor(Constructor<?> ctor) {
+        return args -> {
+            try {
+                return ctor.newInstance(args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    @Override
+    public MemberInjector field(Field field) {
+        return field::set;
+    }
+
+    @Override
+    public MemberInjector setter(Method method) {
+        return (target, value) -> {
+            try {
+                method.invoke(target, value);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    @Override
+    public MethodInvoker lifecycle(Method method) {
+        return target -> {
+            try {
+                return method.invoke(target);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
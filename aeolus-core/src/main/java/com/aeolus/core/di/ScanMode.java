@@ -0,0 +1,27 @@
+package com.aeolus.core.di;
+
+/**
+ * How {@link ComponentScanner} decides whether a class on the classpath is a component.
+ */
+public enum ScanMode {
+
+    /**
+     * Reads each class file's constant pool and annotation attribute directly, fanning
+     * directories and JAR entries out across the common {@code ForkJoinPool}. Only matching
+     * classes are loaded, and without running their static initializers.
+     */
+    BYTECODE,
+
+    /**
+     * Loads and initializes every class under the base package on the calling thread and
+     * checks its annotations reflectively.
+     */
+    REFLECTIVE,
+
+    /**
+     * Registers the {@link GeneratedFactory}s found through {@link GeneratedRegistry} services
+     * for each package instead of scanning; packages without a generated registry are scanned
+     * as with {@link #BYTECODE}.
+     */
+    GENERATED
+}
@@ -0,0 +1,67 @@
+package com.aeolus.core.di;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An open {@code request}/{@code context} scope, obtained from {@link Container#openScope(String)}.
+ * <p>
+ * Beans of that scope resolved on the opening thread while the context is open are created
+ * once and shared; closing the context runs their {@code @PreDestroy} methods, dependents
+ * first. Contexts nest: an inner context of the same name shadows the outer one until it is
+ * closed. Close contexts on the thread that opened them, innermost first — ideally with
+ * try-with-resources.
+ */
+public final class ScopeContext implements AutoCloseable {
+
+    private final ScopeManager manager;
+    private final String scope;
+    private final ScopeContext parent;
+    private final Thread owner = Thread.currentThread();
+    private final Map<Class<?>, Object> instances = new LinkedHashMap<>();
+    private boolean closed;
+
+    ScopeContext(ScopeManager manager, String scope, ScopeContext parent) {
+        this.manager = manager;
+        this.scope = scope;
+        this.parent = parent;
+    }
+
+    public String scope() {
+        return scope;
+    }
+
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        manager.close(this);
+    }
+
+    ScopeContext parent() {
+        return parent;
+    }
+
+    Thread owner() {
+        return owner;
+    }
+
+    Map<Class<?>, Object> instances() {
+        return instances;
+    }
+
+    /** Marks the context closed and returns its instances in reverse creation order. */
+    List<Object> drain() {
+        closed = true;
+        List<Object> created = new ArrayList<>(instances.values());
+        instances.clear();
+        Collections.reverse(created);
+        return created;
+    }
+}
@@ -0,0 +1,39 @@
+package com.aeolus.core.di;
+
+import java.util.function.Consumer;
+
+/**
+ * Storage strategy behind a {@code @Scope} name.
+ * <p>
+ * Built-in handlers cover {@code singleton}, {@code prototype}, {@code thread},
+ * {@code request} and {@code context}; further scopes are registered with
+ * {@link Container.Builder#scope(String, ScopeHandler)}. Each class's handler is looked up
+ * once, when its {@link InjectionPlan} is built, so {@link #get} is called directly on
+ * every resolution.
+ */
+public interface ScopeHandler {
+
+    /**
+     * Returns the instance of {@code type} visible in this scope, calling {@code factory}
+     * (which fully creates, injects and initializes the bean) when there is none.
+     */
+    <T> T get(Class<T> type, ScopeManager.InstanceFactory<T> factory);
+
+    /**
+     * Called once on registration with the container's destroy callback, which runs an
+     * instance's {@code @PreDestroy} methods. Handlers that discard instances (eviction,
+     * expiry) should pass each discarded instance to it.
+     */
+    default void init(Consumer<Object> destroyer) { }
+
+    /**
+     * Whether this handler destroys its own instances. If {@code false} (the default), the
+     * container tracks every instance and destroys it when the container closes.
+     */
+    default boolean destroysInstances() {
+        return false;
+    }
+
+    /** Called when the container closes; handlers that destroy their own instances release them here. */
+    default void close() { }
+}
@@ -1,62 +1,282 @@
 package com.aeolus.core.di;
 
+import com.aeolus.core.di.exceptions.BeanCreationException;
+import com.aeolus.core.di.exceptions.CircularDependencyException;
+
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+/**
+ * Registry of {@link ScopeHandler}s by scope name, plus the built-in handlers.
+ * <p>
+ * The {@code singleton} handler uses per-key once-initialization: the first thread to ask
+ * for a type installs a {@link Pending} marker and runs the factory, while racing threads
+ * wait on that marker's future instead of failing or creating a second instance. Reads of
+ * created instances are a single lock-free {@code ConcurrentHashMap.get}. Recursion (a type
+ * requested again while its own factory runs) is detected per thread; dependency cycles that
+ * span threads are detected through the wait-for chain before blocking, so they fail instead
+ * of deadlocking.
+ * <p>
+ * {@code request} and {@code context} scopes live in {@link ScopeContext}s opened explicitly
+ * per thread; instances are handed to the destroy callback when the context closes. The
+ * {@code thread} scope keeps a map per thread, which can be released together with the
+ * thread's outermost context (see {@link #setReleaseThreadScopeOnExit(boolean)}) so that
+ * short-lived threads do not leave instances behind.
+ */
 public final class ScopeManager {
 
-    private final Map<String, Map<Class<?>, Object>> scopes = new ConcurrentHashMap<>();
-    private final ThreadLocal<Map<Class<?>, Object>> threadScoped =
-            ThreadLocal.withInitial(HashMap::new);
-    private final ThreadLocal<Set<Class<?>>> threadCreating =
-            ThreadLocal.withInitial(HashSet::new);
+    /** Scopes backed by an explicitly opened {@link ScopeContext}. */
+    static final Set<String> CONTEXT_SCOPES = Set.of("request", "context");
+
+    static final Set<String> BUILT_IN_SCOPES = Set.of("singleton", "prototype", "thread", "request", "context");
+
+    /** Placeholder for an instance being created in a thread-confined scope. */
+    private static final Object CREATING = new Object();
+
+    private static final ScopeHandler PROTOTYPE = new ScopeHandler() {
+        @Override
+        public <T> T get(Class<T> type, InstanceFactory<T> factory) {
+            return factory.create();
+        }
+    };
+
+    private final Map<String, ScopeHandler> handlers = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<Class<?>, Object>> threadScoped = new ThreadLocal<>();
+    private final ThreadLocal<ScopeContext> contexts = new ThreadLocal<>();
+    private final Consumer<Object> destroyer;
+    private volatile boolean releaseThreadScope;
+
+    /** In-flight creation a thread is currently blocked on, for cross-thread cycle detection. */
+    private final Map<Thread, Pending> waiting = new ConcurrentHashMap<>();
 
     public ScopeManager() {
-        scopes.put("singleton", new ConcurrentHashMap<>());
-        scopes.put("prototype", Collections.emptyMap());
+        this(instance -> { });
     }
 
-    private final Set<Class<?>> creating = ConcurrentHashMap.newKeySet();
+    /** @param destroyer invoked for each instance discarded before the container closes */
+    public ScopeManager(Consumer<Object> destroyer) {
+        this.destroyer = Objects.requireNonNull(destroyer, "destroyer");
+        handlers.put("singleton", new SharedScope());
+        handlers.put("prototype", PROTOTYPE);
+        handlers.put("thread", new ThreadScope());
+        for (String scope : CONTEXT_SCOPES) handlers.put(scope, new ContextScope(scope));
+    }
+
+    /** Registers a custom scope. Built-in scope names cannot be replaced. */
+    public void register(String scope, ScopeHandler handler) {
+        Objects.requireNonNull(scope, "scope");
+        Objects.requireNonNull(handler, "handler");
+        if (BUILT_IN_SCOPES.contains(scope))
+            throw new IllegalArgumentException("Cannot replace built-in scope: " + scope);
+        handler.init(destroyer);
+        handlers.put(scope, handler);
+    }
+
+    /**
+     * Returns the handler for {@code scope}. Unknown names yield a handler that fails on use,
+     * so metadata (e.g. lifecycle methods) of such classes can still be inspected.
+     */
+    public ScopeHandler handler(String scope) {
+        ScopeHandler handler = handlers.get(scope);
+        return (handler != null) ? handler : new UnknownScope(scope);
+    }
 
-    @SuppressWarnings("unchecked")
     public <T> T getOrCreate(String scope, Class<T> type, InstanceFactory<T> factory) {
-        if ("prototype".equals(scope)) return factory.create();
-        if ("thread".equals(scope)) return getOrCreatePerThread(type, factory);
+        return handler(scope).get(type, factory);
+    }
 
-        Map<Class<?>, Object> map = scopes.get(scope);
-        if (map == null) throw new IllegalStateException("Unknown scope: " + scope);
+    /** Closes every handler; called once when the container shuts down. */
+    public void close() {
+        for (ScopeHandler handler : handlers.values()) handler.close();
+    }
 
-        Object existing = map.get(type);
-        if (existing != null) return (T) existing;
+    // ------------------------------------------------------------------------
+    // Singleton
+    // ------------------------------------------------------------------------
+    private final class SharedScope implements ScopeHandler {
+        private final Map<Class<?>, Object> instances = new ConcurrentHashMap<>();
 
-        if (!creating.add(type))
-            throw new IllegalStateException("Recursive creation detected for " + type);
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Class<T> type, InstanceFactory<T> factory) {
+            Object existing = instances.get(type);
+            if (existing != null && !(existing instanceof Pending)) return (T) existing;
+
+            if (existing == null) {
+                Pending pending = new Pending(type);
+                existing = instances.putIfAbsent(type, pending);
+                if (existing == null) return create(type, pending, factory);
+            }
+            return (existing instanceof Pending pending) ? (T) await(pending) : (T) existing;
+        }
+
+        private <T> T create(Class<T> type, Pending pending, InstanceFactory<T> factory) {
+            try {
+                T instance = factory.create();
+                instances.put(type, instance);
+                pending.result.complete(instance);
+                return instance;
+            } catch (Throwable t) {
+                instances.remove(type, pending);
+                pending.result.completeExceptionally(t);
+                throw t;
+            }
+        }
+    }
 
+    /**
+     * Blocks until another thread finishes creating {@code pending}'s type. Returns the
+     * instance, or rethrows the creator's failure.
+     */
+    private Object await(Pending pending) {
+        Thread self = Thread.currentThread();
+        if (pending.owner == self)
+            throw new IllegalStateException("Recursive creation detected for " + pending.type);
+
+        waiting.put(self, pending);
         try {
-            T instance = factory.create();
-            map.put(type, instance);
-            return instance;
+            // Follow owner → what that owner is waiting for → ...; reaching ourselves is a cycle.
+            Pending next = pending;
+            for (int hops = 0; next != null && hops <= waiting.size(); hops++) {
+                if (next.owner == self)
+                    throw new CircularDependencyException("Circular dependency detected across threads at " + pending.type);
+                next = waiting.get(next.owner);
+            }
+            return pending.result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new BeanCreationException("Failed to create " + pending.type.getName(), cause);
         } finally {
-            creating.remove(type);
+            waiting.remove(self);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Thread-confined Scopes
+    // ------------------------------------------------------------------------
+    private final class ThreadScope implements ScopeHandler {
+        @Override
+        public <T> T get(Class<T> type, InstanceFactory<T> factory) {
+            Map<Class<?>, Object> map = threadScoped.get();
+            if (map == null) {
+                map = new LinkedHashMap<>();
+                threadScoped.set(map);
+            }
+            return getOrCreateLocal(map, type, factory);
+        }
+    }
+
+    private final class ContextScope implements ScopeHandler {
+        private final String name;
+
+        ContextScope(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public <T> T get(Class<T> type, InstanceFactory<T> factory) {
+            return getOrCreateLocal(current(name).instances(), type, factory);
+        }
+
+        @Override
+        public boolean destroysInstances() {
+            return true;
         }
     }
 
+    private record UnknownScope(String name) implements ScopeHandler {
+        @Override
+        public <T> T get(Class<T> type, InstanceFactory<T> factory) {
+            throw new IllegalStateException("Unknown scope: " + name);
+        }
+    }
+
+    /** Once-per-key creation in a map confined to the calling thread, kept in creation order. */
     @SuppressWarnings("unchecked")
-    private <T> T getOrCreatePerThread(Class<T> type, InstanceFactory<T> factory) {
-        Map<Class<?>, Object> map = threadScoped.get();
+    private static <T> T getOrCreateLocal(Map<Class<?>, Object> map, Class<T> type, InstanceFactory<T> factory) {
         Object existing = map.get(type);
-        if (existing != null) return (T) existing;
-
-        Set<Class<?>> localCreating = threadCreating.get();
-        if (!localCreating.add(type))
+        if (existing == CREATING)
             throw new IllegalStateException("Recursive creation detected for " + type);
+        if (existing != null) return (T) existing;
 
+        map.put(type, CREATING);
         try {
             T instance = factory.create();
+            map.remove(type); // re-insert after the dependencies created meanwhile
             map.put(type, instance);
             return instance;
-        } finally {
-            localCreating.remove(type);
+        } catch (Throwable t) {
+            map.remove(type);
+            throw t;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Contexts
+    // ------------------------------------------------------------------------
+
+    /** Opens a {@code request}/{@code context} scope on the calling thread. */
+    public ScopeContext open(String scope) {
+        if (!CONTEXT_SCOPES.contains(scope))
+            throw new IllegalArgumentException("Not a context scope: " + scope + " (expected one of " + CONTEXT_SCOPES + ")");
+        ScopeContext context = new ScopeContext(this, scope, contexts.get());
+        contexts.set(context);
+        return context;
+    }
+
+    /**
+     * Drops the calling thread's {@code thread}-scoped instances when its outermost context
+     * closes, instead of keeping them for the lifetime of the thread.
+     */
+    public void setReleaseThreadScopeOnExit(boolean release) {
+        this.releaseThreadScope = release;
+    }
+
+    /** Destroys the calling thread's {@code thread}-scoped instances and clears its map. */
+    public void releaseThreadScope() {
+        Map<Class<?>, Object> map = threadScoped.get();
+        threadScoped.remove();
+        if (map == null) return;
+        List<Object> created = new ArrayList<>(map.values());
+        Collections.reverse(created);
+        created.forEach(this::destroy);
+    }
+
+    void close(ScopeContext context) {
+        if (context.owner() != Thread.currentThread() || contexts.get() != context)
+            throw new IllegalStateException("Scope '" + context.scope()
+                    + "' must be closed on the thread that opened it, innermost first");
+
+        if (context.parent() != null) contexts.set(context.parent());
+        else contexts.remove();
+
+        context.drain().forEach(this::destroy);
+        if (context.parent() == null && releaseThreadScope) releaseThreadScope();
+    }
+
+    private ScopeContext current(String scope) {
+        for (ScopeContext c = contexts.get(); c != null; c = c.parent())
+            if (c.scope().equals(scope)) return c;
+        throw new IllegalStateException("No active '" + scope + "' scope on " + Thread.currentThread().getName());
+    }
+
+    private void destroy(Object instance) {
+        if (instance != CREATING) destroyer.accept(instance);
+    }
+
+    /** Marker for an instance whose creation is in progress on {@link #owner}. */
+    private static final class Pending {
+        final Class<?> type;
+        final Thread owner = Thread.currentThread();
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Pending(Class<?> type) {
+            this.type = type;
         }
     }
 
@@ -0,0 +1,180 @@
+package com.aeolus.core.di;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hierarchical record of what the container spent its time on, enabled with
+ * {@link Container.Builder#startupTimeline(boolean)} and read through
+ * {@link Container#startupTimeline()}.
+ * <p>
+ * Each {@link Phase} is a timed span on one thread: scanning, cache load and save,
+ * {@code @Configuration} processing and its {@code @Bean} methods, property loading, eager
+ * initialization, and every bean creation with the creations of its dependencies and its
+ * {@code @PostConstruct} call nested inside. {@link Container.Builder#build()} stops the
+ * timeline when it returns (so does reaching {@value #DEFAULT_MAX_SPANS} spans); from then on
+ * no spans are opened, and beans created at runtime cost nothing extra.
+ * <p>
+ * {@link #writeChromeTrace(Path)} exports them as Chrome trace-event JSON, which
+ * {@code chrome://tracing} and Perfetto show as one flame chart per thread. Each span is
+ * also emitted as a {@code com.aeolus.StartupPhase} JFR event, recorded whenever a JFR
+ * recording enables it, e.g. {@code -XX:StartFlightRecording}.
+ */
+public final class StartupTimeline {
+
+    public static final int DEFAULT_MAX_SPANS = 100_000;
+
+    /**
+     * @param depth        nesting level on its thread, 0 for outermost
+     * @param startNanos   start relative to when the timeline was created
+     */
+    public record Span(String category, String name, long threadId, String threadName,
+                       long startNanos, long durationNanos, int depth) { }
+
+    @Name("com.aeolus.StartupPhase")
+    @Label("Aeolus Startup Phase")
+    @Category("Aeolus")
+    @Description("A timed container phase: scan, configuration, bean creation or lifecycle hook")
+    static final class PhaseEvent extends Event {
+        @Label("Category") String category;
+        @Label("Name") String name;
+        @Label("Depth") int depth;
+    }
+
+    private final long originNanos = System.nanoTime();
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+    private final int maxSpans;
+    private volatile boolean stopped;
+
+    StartupTimeline() {
+        this(DEFAULT_MAX_SPANS);
+    }
+
+    StartupTimeline(int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    /** An open span; closing it records it. */
+    public final class Phase implements AutoCloseable {
+        private final String category;
+        private final String name;
+        private final long start = System.nanoTime();
+        private final int level;
+        private final PhaseEvent event = new PhaseEvent();
+
+        private Phase(String category, String name) {
+            this.category = category;
+            this.name = name;
+            this.level = depth.get()[0]++;
+            event.begin();
+        }
+
+        @Override
+        public void close() {
+            long end = System.nanoTime();
+            depth.get()[0]--;
+            if (event.shouldCommit()) {
+                event.category = category;
+                event.name = name;
+                event.depth = level;
+                event.commit();
+            }
+            if (stopped) return;
+            if (recorded.incrementAndGet() > maxSpans) {
+                stopped = true;
+                return;
+            }
+            Thread t = Thread.currentThread();
+            spans.add(new Span(category, name, t.getId(), t.getName(), start - originNanos, end - start, level));
+        }
+    }
+
+    /**
+     * Opens a span on the calling thread, nested in the one currently open there, or returns
+     * {@code null} (a no-op in try-with-resources) once the timeline is stopped.
+     */
+    public Phase begin(String category, String name) {
+        return stopped ? null : new Phase(category, name);
+    }
+
+    /** Stops opening and keeping spans; those recorded so far remain available. */
+    public void stop() {
+        stopped = true;
+    }
+
+    /** Recorded spans in order of completion, so children precede their parents. */
+    public List<Span> spans() {
+        return List.copyOf(spans);
+    }
+
+    /** Writes the spans as Chrome trace-event JSON ({@code "X"} events, microsecond timestamps). */
+    public void writeChromeTrace(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeChromeTrace(out);
+        }
+    }
+
+    public void writeChromeTrace(Writer out) throws IOException {
+        long pid = ProcessHandle.current().pid();
+        Map<Long, String> threads = new TreeMap<>();
+        out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        for (Span s : spans) {
+            threads.putIfAbsent(s.threadId(), s.threadName());
+            out.write(first ? "\n" : ",\n");
+            first = false;
+            out.write("{\"ph\":\"X\",\"cat\":");
+            writeString(out, s.category());
+            out.write(",\"name\":");
+            writeString(out, s.name());
+            out.write(",\"pid\":" + pid + ",\"tid\":" + s.threadId()
+                    + ",\"ts\":" + micros(s.startNanos()) + ",\"dur\":" + micros(s.durationNanos()) + "}");
+        }
+        for (Map.Entry<Long, String> t : threads.entrySet()) {
+            out.write(first ? "\n" : ",\n");
+            first = false;
+            out.write("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":" + pid + ",\"tid\":" + t.getKey()
+                    + ",\"args\":{\"name\":");
+            writeString(out, t.getValue());
+            out.write("}}");
+        }
+        out.write("\n]}\n");
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000.0);
+    }
+
+    private static void writeString(Writer out, String s) throws IOException {
+        out.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) out.write(String.format("\\u%04x", (int) c));
+                    else out.write(c);
+                }
+            }
+        }
+        out.write('"');
+    }
+}
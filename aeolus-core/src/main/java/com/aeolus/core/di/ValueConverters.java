@@ -0,0 +1,140 @@
+package com.aeolus.core.di;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of string-to-value converters shared by {@code @Resource} injection and
+ * {@code @Config} binding.
+ * <p>
+ * Converters are looked up once per target type, when an {@link InjectionPlan} or a config
+ * binder is compiled, so converting a value is a single function call. Built in are strings,
+ * primitives and their wrappers, enums (by constant name, ignoring case), {@link Duration}s
+ * ({@code 500ms}, {@code 30s}, {@code 5m}, {@code 2h}, {@code 1d}, ISO-8601 {@code PT30S}, or
+ * plain milliseconds), {@link DataSize}s ({@code 512KB}, {@code 64MB}, {@code 1GB}, powers of
+ * 1024), and {@code List}/{@code Set}/{@code Collection}s of any of
+ * these written as comma-separated values. Further types are added with
+ * {@link Container.Builder#converter(Class, Function)}; registered converters take
+ * precedence over the built-in ones.
+ */
+public final class ValueConverters {
+
+    private static final Map<Class<?>, Function<String, ?>> BUILT_IN = Map.ofEntries(
+            Map.entry(String.class, v -> v),
+            Map.entry(int.class, Integer::parseInt),
+            Map.entry(Integer.class, Integer::parseInt),
+            Map.entry(long.class, Long::parseLong),
+            Map.entry(Long.class, Long::parseLong),
+            Map.entry(short.class, Short::parseShort),
+            Map.entry(Short.class, Short::parseShort),
+            Map.entry(byte.class, Byte::parseByte),
+            Map.entry(Byte.class, Byte::parseByte),
+            Map.entry(boolean.class, Boolean::parseBoolean),
+            Map.entry(Boolean.class, Boolean::parseBoolean),
+            Map.entry(double.class, Double::parseDouble),
+            Map.entry(Double.class, Double::parseDouble),
+            Map.entry(float.class, Float::parseFloat),
+            Map.entry(Float.class, Float::parseFloat),
+            Map.entry(char.class, ValueConverters::parseChar),
+            Map.entry(Character.class, ValueConverters::parseChar),
+            Map.entry(Duration.class, ValueConverters::parseDuration),
+            Map.entry(DataSize.class, DataSize::parse));
+
+    private final Map<Class<?>, Function<String, ?>> registered = new ConcurrentHashMap<>();
+
+    /** Registers a converter for {@code type}, replacing any earlier or built-in one. */
+    public <T> void register(Class<T> type, Function<String, ? extends T> converter) {
+        registered.put(Objects.requireNonNull(type, "type"), Objects.requireNonNull(converter, "converter"));
+    }
+
+    /** Converts {@code value} to {@code type}; fails if the type has no converter. */
+    public Object convert(String value, Type type) {
+        Function<String, Object> converter = converterFor(type);
+        if (converter == null)
+            throw new IllegalArgumentException("No converter for " + type.getTypeName());
+        return converter.apply(value);
+    }
+
+    /**
+     * Returns the converter for {@code type}, or {@code null} if it is not a value type, i.e.
+     * neither registered, built in, an enum, nor a collection of those.
+     */
+    Function<String, Object> converterFor(Type type) {
+        if (type instanceof Class<?> c) return converterFor(c, null);
+        if (type instanceof ParameterizedType p && p.getRawType() instanceof Class<?> raw
+                && p.getActualTypeArguments()[0] instanceof Class<?> element)
+            return converterFor(raw, element);
+        return null;
+    }
+
+    /** As {@link #converterFor(Type)}, for {@code raw<element>}, or {@code raw} alone if {@code element} is {@code null}. */
+    @SuppressWarnings("unchecked")
+    Function<String, Object> converterFor(Class<?> raw, Class<?> element) {
+        if (element == null) return (Function<String, Object>) scalar(raw);
+        if (!isCollection(raw)) return null;
+        Function<String, ?> convert = scalar(element);
+        if (convert == null) return null;
+        boolean set = Set.class.isAssignableFrom(raw);
+        return value -> {
+            Collection<Object> values = set ? new LinkedHashSet<>() : new ArrayList<>();
+            for (String part : value.split(","))
+                if (!part.isBlank()) values.add(convert.apply(part.trim()));
+            return set ? Collections.unmodifiableSet((Set<Object>) values)
+                    : Collections.unmodifiableList((List<Object>) values);
+        };
+    }
+
+    static boolean isCollection(Class<?> raw) {
+        return raw == List.class || raw == Set.class || raw == Collection.class;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Function<String, ?> scalar(Class<?> type) {
+        Function<String, ?> converter = registered.get(type);
+        if (converter == null) converter = BUILT_IN.get(type);
+        if (converter == null && type.isEnum()) converter = value -> parseEnum((Class<? extends Enum>) type, value);
+        return converter;
+    }
+
+    // ------------------------------------------------------------------------
+    // Parsers
+    // ------------------------------------------------------------------------
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        String name = value.trim();
+        for (E constant : type.getEnumConstants())
+            if (constant.name().equalsIgnoreCase(name)) return constant;
+        throw new IllegalArgumentException("No " + type.getSimpleName() + " constant '" + value
+                + "'; expected one of " + Arrays.toString(type.getEnumConstants()));
+    }
+
+    private static Character parseChar(String value) {
+        if (value.length() != 1) throw new IllegalArgumentException("Expected a single character: '" + value + "'");
+        return value.charAt(0);
+    }
+
+    /** {@code 500ms}, {@code 30s}, {@code 5m}, {@code 2h}, {@code 1d}, ISO-8601, or plain milliseconds. */
+    private static Duration parseDuration(String value) {
+        String v = value.trim();
+        if (v.length() > 1 && (v.charAt(0) == 'P' || v.charAt(0) == 'p' || v.charAt(1) == 'P'))
+            return Duration.parse(v);
+
+        int unit = v.length();
+        while (unit > 0 && Character.isLetter(v.charAt(unit - 1))) unit--;
+        long amount = Long.parseLong(v.substring(0, unit).trim());
+        return switch (v.substring(unit).toLowerCase(Locale.ROOT)) {
+            case "", "ms" -> Duration.ofMillis(amount);
+            case "ns" -> Duration.ofNanos(amount);
+            case "us" -> Duration.ofNanos(Math.multiplyExact(amount, 1_000L));
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            case "d" -> Duration.ofDays(amount);
+            default -> throw new IllegalArgumentException("Unknown duration unit in '" + value + "'");
+        };
+    }
+}
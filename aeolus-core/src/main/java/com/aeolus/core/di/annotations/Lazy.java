@@ -0,0 +1,12 @@
+package com.aeolus.core.di.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Injects a proxy for an interface-typed dependency instead of the bean itself. The bean is
+ * resolved on the first method call through the proxy, once, and every call is then
+ * forwarded to it.
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Lazy { }
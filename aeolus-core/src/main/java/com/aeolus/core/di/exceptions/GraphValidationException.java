@@ -0,0 +1,17 @@
+package com.aeolus.core.di.exceptions;
+
+import java.util.List;
+
+public class GraphValidationException extends AeolusException {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> problems;
+
+    public GraphValidationException(List<String> problems) {
+        super("Dependency graph is invalid (" + problems.size() + " problem" + (problems.size() == 1 ? "" : "s")
+                + "):\n - " + String.join("\n - ", problems));
+        this.problems = List.copyOf(problems);
+    }
+
+    public List<String> problems() { return problems; }
+}
@@ -0,0 +1,177 @@
+package com.aeolus.core.logging;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger that hands messages to a background writer instead of printing on the caller's thread.
+ * <p>
+ * Enabled calls capture a timestamp and their arguments into a bounded lock-free
+ * {@link RingBuffer}; the writer thread drains it in batches, formats them in one buffer and
+ * issues a single write and flush per batch. Arguments are formatted on the writer thread,
+ * so pass values that are not mutated afterwards. When the buffer is full the
+ * {@link Overflow} policy either drops the message (counted, and reported in the output) or
+ * makes the caller wait for space. {@link #close()} writes everything still queued; later
+ * messages are written synchronously.
+ */
+public final class AsyncLogger implements Logger, AutoCloseable {
+
+  /** What a logging call does when the buffer is full. */
+  public enum Overflow { DROP, BLOCK }
+
+  private record Event(long millis, Level level, String msg, Object[] args) { }
+
+  private static final int BATCH = 256;
+  private static final long IDLE_PARK_NANOS = 50_000_000L;
+  private static final long FULL_PARK_NANOS = 100_000L;
+
+  private final RingBuffer<Event> buffer;
+  private final PrintStream out;
+  private final Level threshold;
+  private final Overflow overflow;
+  private final Thread writer;
+  private final LongAdder dropped = new LongAdder();
+  private volatile long written;
+  private volatile boolean idle;
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  /** Writes to {@code System.out} at the {@link Level#fromSystemProperty()} threshold, dropping on overflow. */
+  public AsyncLogger() {
+    this(System.out, Level.fromSystemProperty(), 8192, Overflow.DROP);
+  }
+
+  /**
+   * @param capacity buffered messages, rounded up to a power of two
+   */
+  public AsyncLogger(PrintStream out, Level threshold, int capacity, Overflow overflow) {
+    this.out = Objects.requireNonNull(out, "out");
+    this.threshold = Objects.requireNonNull(threshold, "threshold");
+    this.overflow = Objects.requireNonNull(overflow, "overflow");
+    this.buffer = new RingBuffer<>(capacity);
+    this.writer = new Thread(this::drainLoop, "aeolus-logger");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override public boolean isEnabled(Level level) { return threshold.allows(level); }
+
+  @Override public void trace(String m, Object... a){ log(Level.TRACE, m, a); }
+  @Override public void info(String m, Object... a){ log(Level.INFO, m, a); }
+  @Override public void warn(String m, Object... a){ log(Level.WARN, m, a); }
+  @Override public void error(String m, Object... a){ log(Level.ERROR, m, a); }
+
+  /** Messages discarded so far because the buffer was full. */
+  public long dropped() {
+    return dropped.sum();
+  }
+
+  /** Blocks until every message logged before this call has been written. */
+  public void flush() {
+    long target = buffer.claimed();
+    while (written < target && writer.isAlive()) {
+      LockSupport.unpark(writer);
+      LockSupport.parkNanos(FULL_PARK_NANOS);
+    }
+    out.flush();
+  }
+
+  /** Writes all queued messages and stops the writer thread. */
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) return;
+    LockSupport.unpark(writer);
+    drainAfterClose();
+  }
+
+  private void log(Level level, String msg, Object[] args) {
+    if (!threshold.allows(level)) return;
+    Event event = new Event(System.currentTimeMillis(), level, msg, args);
+    while (!closed.get()) {
+      if (buffer.offer(event)) {
+        // close() may have started after the check above; then the writer may exit without it
+        if (closed.get()) drainAfterClose();
+        else if (idle) LockSupport.unpark(writer);
+        return;
+      }
+      if (overflow == Overflow.DROP) {
+        dropped.increment();
+        return;
+      }
+      LockSupport.unpark(writer);
+      LockSupport.parkNanos(FULL_PARK_NANOS);
+    }
+    synchronized (out) {
+      out.println(format(event));
+    }
+  }
+
+  /**
+   * Waits for the writer to exit, then writes what is still queued on the calling thread.
+   * Callers drain one at a time under the {@code out} lock, keeping the buffer single-consumer.
+   */
+  private void drainAfterClose() {
+    boolean interrupted = false;
+    while (writer.isAlive()) {
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    synchronized (out) {
+      List<Event> rest = new ArrayList<>();
+      buffer.drainTo(rest, Integer.MAX_VALUE);
+      for (Event e : rest) out.println(format(e));
+      out.flush();
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+  }
+
+  // ------------------------------------------------------------------------
+  // Writer Thread
+  // ------------------------------------------------------------------------
+  private void drainLoop() {
+    List<Event> batch = new ArrayList<>(BATCH);
+    StringBuilder text = new StringBuilder(BATCH * 96);
+    long reportedDrops = 0;
+    for (;;) {
+      if (buffer.drainTo(batch, BATCH) == 0) {
+        if (closed.get()) return;
+        idle = true;
+        if (buffer.isEmpty() && !closed.get()) LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        idle = false;
+        continue;
+      }
+
+      text.setLength(0);
+      long drops = dropped.sum();
+      if (drops > reportedDrops) {
+        text.append(format(new Event(System.currentTimeMillis(), Level.WARN,
+                "Log buffer full: dropped %d messages", new Object[]{drops - reportedDrops}))).append('\n');
+        reportedDrops = drops;
+      }
+      for (Event e : batch) text.append(format(e)).append('\n');
+      synchronized (out) {
+        out.print(text);
+        out.flush();
+      }
+      written += batch.size();
+      batch.clear();
+    }
+  }
+
+  private static String format(Event e) {
+    try {
+      return ConsoleLogger.fmt(Instant.ofEpochMilli(e.millis()), e.level(), e.msg(), e.args());
+    } catch (RuntimeException ex) {
+      // A bad pattern or a failing toString() must not stop the writer.
+      return ConsoleLogger.fmt(Instant.ofEpochMilli(e.millis()), e.level(), e.msg() + " [format failed: " + ex + "]");
+    }
+  }
+}
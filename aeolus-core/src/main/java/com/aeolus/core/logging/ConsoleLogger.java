@@ -4,17 +4,39 @@ import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.ZoneId;
 
+/**
+ * Writes each message synchronously to {@code System.out} ({@code System.err} for errors).
+ * The threshold defaults to {@link Level#fromSystemProperty()}; messages below it are
+ * dropped before formatting. Unlike earlier versions, which printed every level, the default
+ * no longer shows {@code TRACE}; pass {@link Level#TRACE} or set {@code -Daeolus.log.level=TRACE}
+ * to restore it.
+ */
 public class ConsoleLogger implements Logger {
-  private static final DateTimeFormatter TS =
+  static final DateTimeFormatter TS =
           DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneId.systemDefault());
 
-  private String fmt(String lvl, String msg, Object... args) {
-    String t = (args.length == 0) ? msg : String.format(msg, args);
-    return String.format("%s [%s] %s", TS.format(Instant.now()), lvl, t);
+  private final Level threshold;
+
+  public ConsoleLogger() {
+    this(Level.fromSystemProperty());
+  }
+
+  public ConsoleLogger(Level threshold) {
+    this.threshold = threshold;
   }
 
-  @Override public void trace(String m, Object... a){ System.out.println(fmt("TRACE", m, a)); }
-  @Override public void info(String m, Object... a){ System.out.println(fmt("INFO", m, a)); }
-  @Override public void warn(String m, Object... a){ System.out.println(fmt("WARN", m, a)); }
-  @Override public void error(String m, Object... a){ System.err.println(fmt("ERROR", m, a)); }
+  static String fmt(Instant time, Level lvl, String msg, Object... args) {
+    StringBuilder sb = new StringBuilder(64 + msg.length());
+    TS.formatTo(time, sb);
+    sb.append(" [").append(lvl).append("] ");
+    sb.append((args == null || args.length == 0) ? msg : String.format(msg, args));
+    return sb.toString();
+  }
+
+  @Override public boolean isEnabled(Level level) { return threshold.allows(level); }
+
+  @Override public void trace(String m, Object... a){ if (isEnabled(Level.TRACE)) System.out.println(fmt(Instant.now(), Level.TRACE, m, a)); }
+  @Override public void info(String m, Object... a){ if (isEnabled(Level.INFO)) System.out.println(fmt(Instant.now(), Level.INFO, m, a)); }
+  @Override public void warn(String m, Object... a){ if (isEnabled(Level.WARN)) System.out.println(fmt(Instant.now(), Level.WARN, m, a)); }
+  @Override public void error(String m, Object... a){ if (isEnabled(Level.ERROR)) System.err.println(fmt(Instant.now(), Level.ERROR, m, a)); }
 }
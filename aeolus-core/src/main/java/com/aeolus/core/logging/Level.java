@@ -0,0 +1,35 @@
+package com.aeolus.core.logging;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** Log levels, least to most severe. A logger set to a level emits that level and above. */
+public enum Level {
+  TRACE, INFO, WARN, ERROR, OFF;
+
+  /** System property holding the default threshold of the built-in loggers. */
+  public static final String PROPERTY = "aeolus.log.level";
+
+  private static final AtomicBoolean WARNED = new AtomicBoolean();
+
+  /**
+   * The level named by {@value #PROPERTY}, or {@link #INFO} when unset or unrecognised (the
+   * latter reported once on {@code System.err}, as no logger exists yet to report it).
+   */
+  public static Level fromSystemProperty() {
+    String name = System.getProperty(PROPERTY);
+    if (name == null || name.isBlank()) return INFO;
+    try {
+      return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      if (WARNED.compareAndSet(false, true))
+        System.err.println("Unknown " + PROPERTY + " '" + name + "'; using INFO");
+      return INFO;
+    }
+  }
+
+  /** Whether a logger with this threshold emits messages at {@code level}. */
+  public boolean allows(Level level) {
+    return level != OFF && level.ordinal() >= ordinal();
+  }
+}
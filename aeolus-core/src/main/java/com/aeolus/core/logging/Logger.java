@@ -5,4 +5,16 @@ public interface Logger {
   void info(String msg, Object... args);
   void warn(String msg, Object... args);
   void error(String msg, Object... args);
-}
\ No newline at end of file
+
+  /**
+   * Whether messages at {@code level} are emitted. Callers on hot paths check this before
+   * logging so that the varargs array, boxing and formatting are skipped for disabled levels.
+   */
+  default boolean isEnabled(Level level) {
+    return true;
+  }
+
+  default boolean isTraceEnabled() {
+    return isEnabled(Level.TRACE);
+  }
+}
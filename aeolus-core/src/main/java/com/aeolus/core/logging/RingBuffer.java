@@ -0,0 +1,87 @@
+package com.aeolus.core.logging;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer queue over a power-of-two array.
+ * <p>
+ * Each slot carries a sequence number: a producer claims position {@code p} with one CAS on
+ * {@link #tail} once slot {@code p & mask} reports sequence {@code p}, writes the element
+ * and publishes it by setting the sequence to {@code p + 1}; the consumer frees the slot for
+ * the next lap by setting it to {@code p + capacity}. Producers never wait on each other
+ * beyond a failed CAS, and a full buffer is reported instead of blocking.
+ */
+final class RingBuffer<E> {
+  private final Object[] items;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private volatile long head;
+
+  RingBuffer(int capacity) {
+    if (capacity < 2) throw new IllegalArgumentException("capacity must be >= 2: " + capacity);
+    int size = Integer.highestOneBit(capacity - 1) << 1;
+    this.items = new Object[size];
+    this.sequences = new AtomicLongArray(size);
+    this.mask = size - 1;
+    for (int i = 0; i < size; i++) sequences.set(i, i);
+  }
+
+  int capacity() {
+    return items.length;
+  }
+
+  /** Appends {@code e}, or returns {@code false} if the buffer is full. Safe from any thread. */
+  boolean offer(E e) {
+    long pos = tail.get();
+    for (;;) {
+      int slot = (int) (pos & mask);
+      long diff = sequences.get(slot) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          items[slot] = e;
+          sequences.set(slot, pos + 1);
+          return true;
+        }
+        pos = tail.get();
+      } else if (diff < 0) {
+        return false; // the consumer has not freed this slot yet
+      } else {
+        pos = tail.get(); // another producer claimed pos
+      }
+    }
+  }
+
+  /** Moves up to {@code max} published elements into {@code sink}. Consumer thread only. */
+  @SuppressWarnings("unchecked")
+  int drainTo(List<? super E> sink, int max) {
+    long pos = head;
+    int n = 0;
+    while (n < max) {
+      int slot = (int) (pos & mask);
+      if (sequences.get(slot) != pos + 1) break; // not yet published
+      sink.add((E) items[slot]);
+      items[slot] = null;
+      sequences.set(slot, pos + items.length);
+      pos++;
+      n++;
+    }
+    head = pos;
+    return n;
+  }
+
+  boolean isEmpty() {
+    return sequences.get((int) (head & mask)) != head + 1;
+  }
+
+  /** Number of elements claimed so far; {@link #consumed()} catches up as they are drained. */
+  long claimed() {
+    return tail.get();
+  }
+
+  long consumed() {
+    return head;
+  }
+}
@@ -1,18 +1,72 @@
 package com.aeolus.core.di;
 
+import com.aeolus.core.di.beans.BeanProbe;
+import com.aeolus.core.di.beans.Gateway;
+import com.aeolus.core.di.eager.EagerLeafA;
+import com.aeolus.core.di.eager.EagerProbe;
+import com.aeolus.core.di.eager.EagerRoot;
+import com.aeolus.core.di.invalid.Meter;
+import com.aeolus.core.di.invalid.Store;
+import com.aeolus.core.di.shutdown.ShutdownProbe;
+import com.aeolus.core.di.shutdown.ShutdownRoot;
+import com.aeolus.core.di.shutdown.StuckBean;
+import com.aeolus.core.di.warmup.ModelCache;
+import com.aeolus.core.di.warmup.Ranker;
+import com.aeolus.core.di.warmup.Recommender;
+import com.aeolus.core.di.warmup.Tokenizer;
+import com.aeolus.core.di.warmup.WarmupProbe;
+import com.aeolus.core.di.annotations.Lazy;
+import com.aeolus.core.di.exceptions.BeanCreationException;
 import com.aeolus.core.di.exceptions.CircularDependencyException;
+import com.aeolus.core.di.exceptions.GraphValidationException;
+import com.aeolus.core.di.exceptions.ResourceMissingException;
+import com.aeolus.core.logging.ConsoleLogger;
+import com.aeolus.core.logging.Level;
 import com.aeolus.core.logging.Logger;
+import jakarta.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class ContainerTest {
 
+    @BeforeEach
+    void resetProbes() {
+        Rendezvous.reset();
+        EagerProbe.initialized.clear();
+        BeanProbe.created.clear();
+        ShutdownProbe.destroyed.clear();
+        ShutdownProbe.release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void releaseProbes() {
+        Rendezvous.reset();
+        ShutdownProbe.release.countDown();
+    }
+
     @Test
     void testComponentScanAndConfiguration() {
         Container container = Container.builder()
@@ -79,6 +133,727 @@ class ContainerTest {
         }
     }
 
+    @Test
+    void testConcurrentColdSingletonResolutionYieldsOneInstance() throws Exception {
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .build();
+
+        int threads = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<NamedConsumer>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return container.get(NamedConsumer.class);
+                }));
+            }
+            start.countDown();
+
+            Set<NamedConsumer> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<NamedConsumer> f : futures) instances.add(f.get(30, TimeUnit.SECONDS));
+            assertEquals(1, instances.size());
+            assertSame(container.getByName("namedDummyWithDeps"), container.get(NamedDummyWithDeps.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEagerInitCreatesIndependentSingletonsConcurrently() {
+        Rendezvous.arm(2);
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di.eager")
+                .eagerInit(2)
+                .build();
+
+        assertEquals(Set.of("EagerLeafA", "EagerLeafB", "EagerRoot"), EagerProbe.initialized);
+        assertTrue(Rendezvous.overlapped().containsAll(Set.of("EagerLeafA", "EagerLeafB")),
+                "independent leaves should initialize concurrently");
+        assertTrue(container.get(EagerRoot.class).depsReady(), "dependencies first");
+
+        Map<String, Object> stats = container.stats();
+        assertEquals(3, stats.get("eager.beans"));
+        assertTrue(((Map<String, Double>) stats.get("eager.init.ms")).containsKey(EagerRoot.class.getName()));
+    }
+
+    @Test
+    void testBeanMethodsRunOnceOnFirstDemand() throws Exception {
+        Container container = Container.builder()
+                .metadataCache(null)
+                .scan("com.aeolus.core.di.beans")
+                .build();
+        assertTrue(BeanProbe.created.isEmpty(), "nothing is created during scan: " + BeanProbe.created);
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Gateway>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return container.get(Gateway.class);
+                }));
+            }
+            start.countDown();
+            Set<Gateway> gateways = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<Gateway> f : futures) gateways.add(f.get(30, TimeUnit.SECONDS));
+            assertEquals(1, gateways.size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Gateway gateway = container.get(Gateway.class);
+        assertSame(container.getByName("primaryPool"), gateway.primary());
+        assertEquals("replica", gateway.replica().name());
+        assertEquals(List.of("primaryPool", "replicaPool", "gateway"), BeanProbe.created);
+    }
+
+    @Test
+    void testEagerInitRunsIndependentBeanMethodsConcurrently() {
+        Rendezvous.arm(2);
+        Container container = Container.builder()
+                .metadataCache(null)
+                .scan("com.aeolus.core.di.beans")
+                .eagerInit(2)
+                .build();
+
+        assertEquals(Set.of("primaryPool", "replicaPool"), Rendezvous.overlapped(),
+                "independent @Beans should run concurrently");
+        assertEquals(4, BeanProbe.created.size(), "eager init creates every @Bean: " + BeanProbe.created);
+        assertTrue(BeanProbe.created.indexOf("gateway") > BeanProbe.created.indexOf("primaryPool"));
+        assertTrue(BeanProbe.created.indexOf("gateway") > BeanProbe.created.indexOf("replicaPool"));
+        assertSame(container.getByName("replicaPool"), container.get(Gateway.class).replica());
+    }
+
+    @Test
+    void testAsyncPostConstructFinishesInBackground() throws Exception {
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        WarmupProbe.gate = gate;
+        try {
+            Container container = Container.builder().metadataCache(null).scan("com.aeolus.core.di.warmup").build();
+
+            ModelCache cache = container.get(ModelCache.class);
+            Recommender recommender = container.get(Recommender.class);
+            assertFalse(cache.loaded(), "get() does not wait for an async @PostConstruct");
+            assertFalse(recommender.primed(), "an async dependent is primed only after the cache has loaded");
+            assertTrue(container.get(Tokenizer.class).ready(), "unrelated beans initialize at once");
+
+            CompletableFuture<Void> readiness = container.readiness();
+            assertFalse(readiness.isDone());
+            assertEquals(2, container.stats().get("initializing"));
+
+            gate.complete(null);
+            readiness.get(5, TimeUnit.SECONDS);
+            assertTrue(recommender.primed());
+            assertTrue(recommender.sawLoadedCache());
+            assertEquals(0, container.stats().get("initializing"));
+        } finally {
+            WarmupProbe.gate = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Test
+    void testSynchronousDependentWaitsForAsyncInitOfWhatItInjects() throws Exception {
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        WarmupProbe.gate = gate;
+        try {
+            Container container = Container.builder().metadataCache(null).scan("com.aeolus.core.di.warmup").build();
+
+            container.get(ModelCache.class);
+            CompletableFuture<Ranker> ranker = CompletableFuture.supplyAsync(() -> container.get(Ranker.class));
+            assertThrows(TimeoutException.class, () -> ranker.get(100, TimeUnit.MILLISECONDS));
+
+            gate.complete(null);
+            assertTrue(ranker.get(5, TimeUnit.SECONDS).sawLoadedCache());
+        } finally {
+            WarmupProbe.gate = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Test
+    void testReadinessFailsWhenAnAsyncPostConstructFails() {
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        WarmupProbe.gate = gate;
+        try {
+            Container container = Container.builder().metadataCache(null).scan("com.aeolus.core.di.warmup").build();
+
+            Recommender recommender = container.get(Recommender.class);
+            gate.completeExceptionally(new IllegalStateException("model missing"));
+
+            CompletionException e = assertThrows(CompletionException.class, () -> container.readiness().join());
+            assertInstanceOf(BeanCreationException.class, e.getCause());
+            assertEquals("model missing", e.getCause().getCause().getMessage());
+            assertTrue(recommender.primed(), "dependents still initialize, as after a failed synchronous hook");
+        } finally {
+            WarmupProbe.gate = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Test
+    void testValidationReportsEveryGraphProblemAtBuild() {
+        GraphValidationException e = assertThrows(GraphValidationException.class,
+                () -> Container.builder().validate(true).scan("com.aeolus.core.di").build());
+
+        List<String> problems = e.problems();
+        assertEquals(5, problems.size(), e.getMessage());
+        assertTrue(problems.stream().anyMatch(p -> p.startsWith("Ambiguous binding for " + Store.class.getName())));
+        assertTrue(problems.contains("Ticker injects Clock, but no component or @Bean provides it"), e.getMessage());
+        assertTrue(problems.stream().anyMatch(p -> p.contains("ServiceA") && p.contains("ServiceB")), e.getMessage());
+        assertTrue(problems.contains("singleton SessionCache holds request-scoped SessionState through SessionHandle;"
+                + " inject Provider<SessionState> or use @Lazy instead"), e.getMessage());
+        assertTrue(problems.contains("Meter cannot be created: No valid constructor for " + Meter.class.getName()),
+                e.getMessage());
+    }
+
+    @Test
+    void testValidatedContainerResolvesNormally() {
+        Container container = Container.builder()
+                .validate(true)
+                .freeze(true)
+                .scan("com.aeolus.core.di.eager")
+                .build();
+
+        EagerRoot root = container.get(EagerRoot.class);
+        assertTrue(root.depsReady());
+        assertSame(root, container.get(EagerRoot.class));
+        assertNotNull(container.create(EagerRoot.class));
+    }
+
+    @Test
+    void testEagerInitFailsFastOnCycles() {
+        CircularDependencyException e = assertThrows(CircularDependencyException.class,
+                () -> Container.builder().scan("com.aeolus.core.di").eagerInit(4).build());
+        assertTrue(e.getMessage().contains("ServiceA") && e.getMessage().contains("ServiceB"));
+    }
+
+    @Test
+    void testRequestScopeLivesUntilContextCloses() {
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .build();
+
+        RequestScopedBean first;
+        try (ScopeContext ctx = container.openScope("request")) {
+            first = container.get(RequestScopedBean.class);
+            assertSame(first, container.get(RequestScopedBean.class));
+            assertNotNull(first.dummy);
+
+            try (ScopeContext nested = container.openScope("request")) {
+                RequestScopedBean inner = container.get(RequestScopedBean.class);
+                assertNotSame(first, inner);
+                nested.close();
+                assertTrue(inner.destroyed);
+            }
+            assertSame(first, container.get(RequestScopedBean.class));
+            assertFalse(first.destroyed);
+        }
+        assertTrue(first.destroyed);
+        assertThrows(IllegalStateException.class, () -> container.get(RequestScopedBean.class));
+    }
+
+    @Test
+    void testThreadScopeIsReleasedOnOutermostScopeExit() {
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .releaseThreadScopeOnExit(true)
+                .build();
+
+        ThreadScopedComponent before;
+        try (ScopeContext ctx = container.openScope("context")) {
+            before = container.get(ThreadScopedComponent.class);
+            assertSame(before, container.get(ThreadScopedComponent.class));
+        }
+        assertNotSame(before, container.get(ThreadScopedComponent.class));
+    }
+
+    @Test
+    void testCustomScopeHandlerRefreshesAndDestroysExpiredInstances() {
+        AtomicLong clock = new AtomicLong();
+        ExpiringScope refresh = new ExpiringScope(Duration.ofSeconds(10), 8, clock::get);
+        Container container = Container.builder()
+                .scope("refresh", refresh)
+                .scan("com.aeolus.core.di")
+                .build();
+
+        ExpiringWidget first = container.get(ExpiringWidget.class);
+        assertSame(first, container.get(ExpiringWidget.class));
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        ExpiringWidget second = container.get(ExpiringWidget.class);
+        assertNotSame(first, second);
+        assertTrue(first.destroyed, "expired instance should be destroyed");
+        assertFalse(second.destroyed);
+
+        container.close();
+        assertTrue(second.destroyed, "remaining instances are destroyed with the container");
+        assertThrows(IllegalArgumentException.class,
+                () -> Container.builder().scope("singleton", refresh));
+    }
+
+    @Test
+    void testRepeatedSingletonGetIsAllocationFree() {
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .build();
+
+        NamedConsumer first = container.get(NamedConsumer.class);
+        for (int i = 0; i < 10_000; i++) assertSame(first, container.get(NamedConsumer.class));
+        assertNotSame(container.get(PrototypeWidget.class), container.get(PrototypeWidget.class));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) container.get(NamedConsumer.class);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(allocated < 100_000, "expected no per-call allocation, got " + allocated + " bytes");
+    }
+
+    @Test
+    void testCachedSingletonsDoNotKeepTheContainerReachable() throws Exception {
+        List<WeakReference<Container>> containers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) containers.add(buildAndResolveSelfReferencingSingletons());
+
+        for (int i = 0; i < 50 && containers.stream().anyMatch(c -> c.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, containers.stream().filter(c -> c.get() != null).count(),
+                "singletons holding a Provider or @Lazy proxy must not pin their container");
+    }
+
+    /** Caches singletons whose Provider and @Lazy fields point back to the container. */
+    private static WeakReference<Container> buildAndResolveSelfReferencingSingletons() {
+        Container container = Container.builder().metadataCache(null).scan("com.aeolus.core.di").build();
+        assertSame(container.get(ProviderConsumer.class), container.get(ProviderConsumer.class));
+        assertSame(container.get(LazyConsumer.class), container.get(LazyConsumer.class));
+        return new WeakReference<>(container);
+    }
+
+    @Test
+    void testFrozenContainerResolvesFromImmutableTables() {
+        Container container = Container.builder()
+                .freeze(true)
+                .scan("com.aeolus.core.di")
+                .build();
+
+        assertEquals(Boolean.TRUE, container.stats().get("frozen"));
+        assertEquals("primary", ((RecordingLogger) container.getByName("primaryLogger")).id());
+        assertEquals("pong", container.get(DummyService.class).ping());
+        assertEquals("named-pong", container.get(NamedConsumer.class).call());
+        assertSame(container.getByName("namedDummyWithDeps"), container.getByName("namedDummyWithDeps"));
+        assertNotSame(container.get(PrototypeWidget.class), container.get(PrototypeWidget.class));
+        assertThrows(CircularDependencyException.class, () -> container.get(ServiceA.class));
+        assertThrows(ResourceMissingException.class, () -> container.getByName("missing"));
+
+        int plans = (int) container.stats().get("plans");
+        container.get(PrototypeWidget.class);
+        assertEquals(plans, container.stats().get("plans"), "registered plans are built when freezing");
+    }
+
+    @Test
+    void testFrozenEagerContainerServesSingletonsFromItsSnapshot() {
+        Container container = Container.builder()
+                .metadataCache(null)
+                .scan("com.aeolus.core.di.eager")
+                .eagerInit(1)
+                .freeze(true)
+                .build();
+
+        int instances = (int) container.stats().get("frozen.instances");
+        assertTrue(instances >= 3, "every eager singleton is in the frozen table: " + instances);
+        EagerRoot root = container.get(EagerRoot.class);
+        assertSame(root, container.get(EagerRoot.class));
+        assertTrue(root.depsReady());
+        assertEquals(instances, container.stats().get("frozen.instances"));
+    }
+
+    @Test
+    void testProviderAndSupplierInjection() {
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .build();
+
+        ProviderConsumer consumer = container.get(ProviderConsumer.class);
+        PrototypeWidget w1 = consumer.widgets.get();
+        PrototypeWidget w2 = consumer.widgets.get();
+        assertNotSame(w1, w2);
+        assertNotNull(w2.dummy);
+        assertEquals(1, w2.initCalls);
+
+        assertSame(container.get(NamedConsumer.class), consumer.consumers.get());
+        assertSame(container.get(DummyService.class), consumer.dummies.get());
+        assertSame(container.getByName("namedDummyWithDeps"), consumer.named.get());
+    }
+
+    @Test
+    void testLazyInjectionResolvesTargetOnceOnFirstCall() throws Exception {
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .build();
+
+        int before = CountingGreeter.created.get();
+        LazyConsumer consumer = container.get(LazyConsumer.class);
+        assertEquals("Lazy<Greeter>", consumer.viaField.toString());
+        assertEquals(before, CountingGreeter.created.get(), "target must not be created on injection");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> calls = Collections.nCopies(16, () -> consumer.viaField.greet("aeolus"));
+            for (Future<String> f : pool.invokeAll(calls)) assertEquals("hello aeolus", f.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals("hello aeolus", consumer.viaConstructor.greet("aeolus"));
+        assertEquals(before + 1, CountingGreeter.created.get(), "singleton target resolved once");
+        assertThrows(IllegalArgumentException.class, () -> consumer.viaField.greet(null));
+
+        assertThrows(BeanCreationException.class, () -> container.get(LazyClassConsumer.class));
+    }
+
+    static class LazyClassConsumer {
+        @Inject @Lazy DummyService dummy;
+    }
+
+    @Test
+    void testMetricsCountResolutionsCreationsAndScopeHits() throws Exception {
+        String name = "metrics-test";
+        ObjectName objectName = new ObjectName("com.aeolus:type=Container,name=" + ObjectName.quote(name));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try (Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .metricsMBean(name)
+                .build()) {
+            container.get(NamedConsumer.class);
+            ContainerMetrics.ScopeStats cold = container.metrics().scopes().get("singleton");
+            for (int i = 0; i < 2; i++) container.get(NamedConsumer.class);
+            container.get(PrototypeWidget.class);
+            container.get(PrototypeWidget.class);
+
+            ContainerMetrics.Snapshot snapshot = container.metrics();
+            ContainerMetrics.BeanStats consumer = snapshot.beans().get(NamedConsumer.class.getName());
+            assertEquals(3, consumer.resolved());
+            assertEquals(1, consumer.created());
+            assertTrue(consumer.creation().maxMillis() > 0);
+
+            ContainerMetrics.BeanStats widget = snapshot.beans().get(PrototypeWidget.class.getName());
+            assertEquals(2, widget.created());
+            assertTrue(widget.postConstructMillis() > 0, "@PostConstruct time is recorded");
+            ContainerMetrics.ScopeStats singleton = snapshot.scopes().get("singleton");
+            assertEquals(cold.lookups() + 2, singleton.lookups(), "fast-path hits are lookups");
+            assertEquals(cold.created(), singleton.created());
+            assertTrue(singleton.hitRate() > cold.hitRate());
+            ContainerMetrics.ScopeStats prototype = snapshot.scopes().get("prototype");
+            assertEquals(2, prototype.lookups());
+            assertEquals(0.0, prototype.hitRate());
+            assertEquals(2, prototype.live());
+
+            assertTrue(server.isRegistered(objectName));
+            TabularData created = (TabularData) server.getAttribute(objectName, "CreatedByType");
+            assertEquals(2L, created.get(new Object[]{PrototypeWidget.class.getName()}).get("value"));
+        }
+        assertFalse(server.isRegistered(objectName), "MBean is unregistered on close");
+
+        Container plain = Container.builder().scan("com.aeolus.core.di").build();
+        assertThrows(IllegalStateException.class, plain::metrics);
+        try (Container disabled = Container.builder().scan("com.aeolus.core.di").metricsMBean(name).metrics(false).build()) {
+            assertThrows(IllegalStateException.class, disabled::metrics);
+            assertFalse(server.isRegistered(objectName));
+        }
+    }
+
+    @Test
+    void testStartupTimelineNestsCreationsAndExports(@TempDir Path tmp) throws Exception {
+        Path jfr = tmp.resolve("startup.jfr");
+        Container container;
+        int recorded;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.aeolus.StartupPhase");
+            recording.start();
+            container = Container.builder()
+                    .startupTimeline(true)
+                    .metadataCache(null)
+                    .scan("com.aeolus.core.di")
+                    .build();
+            recorded = container.startupTimeline().spans().size();
+            container.get(NamedConsumer.class);
+            recording.stop();
+            recording.dump(jfr);
+        }
+
+        List<StartupTimeline.Span> spans = container.startupTimeline().spans();
+        assertEquals(recorded, spans.size(), "the timeline stops when build() returns");
+        assertTrue(spans.stream().noneMatch(s -> s.name().equals(NamedConsumer.class.getName())));
+        StartupTimeline.Span scan = span(spans, "scan", "com.aeolus.core.di");
+        StartupTimeline.Span configuration = span(spans, "configuration", AppTestConfig.class.getName());
+        assertEquals(scan.depth() + 1, configuration.depth(), "scan > configuration");
+        assertTrue(configuration.startNanos() >= scan.startNanos());
+        assertTrue(configuration.startNanos() + configuration.durationNanos()
+                <= scan.startNanos() + scan.durationNanos(), "configuration nested in the scan");
+        assertEquals(1, span(spans, "package", "com.aeolus.core.di").depth(), "scan > package");
+
+        Path json = tmp.resolve("trace.json");
+        container.startupTimeline().writeChromeTrace(json);
+        String trace = java.nio.file.Files.readString(json);
+        assertTrue(trace.startsWith("{\"displayTimeUnit\""));
+        assertTrue(trace.contains("\"ph\":\"X\",\"cat\":\"configuration\",\"name\":\"" + AppTestConfig.class.getName() + "\""));
+
+        List<jdk.jfr.consumer.RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+        assertTrue(events.stream().anyMatch(e -> AppTestConfig.class.getName().equals(e.getString("name"))));
+        assertTrue(events.stream().noneMatch(e -> NamedConsumer.class.getName().equals(e.getString("name"))),
+                "no phases are opened after build()");
+    }
+
+    @Test
+    void testStartupTimelineTracesEagerCreations() {
+        Container container = Container.builder()
+                .startupTimeline(true)
+                .metadataCache(null)
+                .scan("com.aeolus.core.di.eager", "com.aeolus.core.di.beans")
+                .eagerInit(1)
+                .build();
+
+        List<StartupTimeline.Span> spans = container.startupTimeline().spans();
+        StartupTimeline.Span creation = span(spans, "create", EagerLeafA.class.getName());
+        StartupTimeline.Span init = span(spans, "postConstruct", EagerLeafA.class.getName());
+        assertEquals(creation.depth() + 1, init.depth());
+        assertTrue(init.startNanos() + init.durationNanos()
+                <= creation.startNanos() + creation.durationNanos(), "@PostConstruct nested in its creation");
+        span(spans, "bean", "BeansConfig.gateway()");
+        span(spans, "eager", "preInstantiate");
+    }
+
+    @Test
+    void testStartupTimelineStopsAtItsSpanLimit() {
+        StartupTimeline timeline = new StartupTimeline(2);
+        for (int i = 0; i < 3; i++) {
+            try (StartupTimeline.Phase ignored = timeline.begin("create", "bean" + i)) {
+                assertNotNull(ignored);
+            }
+        }
+        assertEquals(2, timeline.spans().size());
+        assertNull(timeline.begin("create", "late"), "no phases are opened past the limit");
+    }
+
+    private static StartupTimeline.Span span(List<StartupTimeline.Span> spans, String category, String name) {
+        return spans.stream()
+                .filter(s -> s.category().equals(category) && s.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no span " + category + " " + name));
+    }
+
+    @Test
+    void testShutdownDestroysDependentsFirstAndSkipsHooklessBeans() {
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .build();
+
+        container.get(ShutdownRoot.class);
+        for (int i = 0; i < 100; i++) container.get(PrototypeWidget.class);
+        assertEquals(3, container.stats().get("managed"), "only beans with @PreDestroy are tracked");
+
+        container.close();
+        assertEquals(List.of("ShutdownRoot", "ShutdownLeafB", "ShutdownLeafA"), ShutdownProbe.destroyed);
+        container.close();
+        assertEquals(3, ShutdownProbe.destroyed.size(), "close is idempotent");
+    }
+
+    @Test
+    void testParallelShutdownOverlapsIndependentBeansAndTimesOutStuckHooks() {
+        Rendezvous.arm(2);
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .shutdownParallelism(3)
+                .preDestroyTimeout(Duration.ofMillis(200))
+                .build();
+        container.get(StuckBean.class);
+        container.get(ShutdownRoot.class);
+
+        long start = System.nanoTime();
+        container.close();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "stuck hook must not block close");
+
+        assertEquals("ShutdownRoot", ShutdownProbe.destroyed.get(0));
+        assertEquals(Set.of("ShutdownLeafA", "ShutdownLeafB"), Rendezvous.overlapped(),
+                "independent leaves should be destroyed concurrently");
+    }
+
+    @Test
+    void testStuckHookTimesOutWithoutStarvingOthersOnOneThread() {
+        RecordingLogger log = new RecordingLogger("shutdown");
+        Container container = Container.builder()
+                .logger(log)
+                .scan("com.aeolus.core.di")
+                .preDestroyTimeout(Duration.ofMillis(200))
+                .build();
+        container.get(ShutdownRoot.class);
+        container.get(StuckBean.class);
+
+        long start = System.nanoTime();
+        container.close();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "stuck hook must not block close");
+
+        assertEquals(List.of("ShutdownRoot", "ShutdownLeafB", "ShutdownLeafA"), ShutdownProbe.destroyed,
+                "the other hooks run on a fresh thread once the stuck one times out");
+        assertEquals(List.of("PreDestroy of StuckBean did not finish within 200 ms; continuing shutdown"),
+                log.warnMessages());
+    }
+
+    @Test
+    void testConfigIsBoundOnceWithTypedFields(@TempDir Path tmp) throws Exception {
+        Path file = tmp.resolve("server.properties");
+        Files.writeString(file, String.join("\n",
+                "server.port=8080",
+                "server.mode=async",
+                "server.timeout=30s",
+                "server.maxBody=4MB",
+                "server.pool.min=2",
+                "server.pool.max=16",
+                "server.hosts=a.example, b.example",
+                "server.ports[0]=80",
+                "server.ports[1]=443",
+                "server.ports[2]=80",
+                "server.routes[0].path=/api",
+                "server.routes[0].timeout=PT2S",
+                "server.routes[1].path=/health",
+                "server.headers.X-Frame-Options=DENY",
+                "server.headers.Server=aeolus",
+                "server.pools.io.max=8",
+                "server.pools.cpu.min=1"));
+        Container container = Container.builder()
+                .logger(new RecordingLogger("config"))
+                .loadProperties(file.toString())
+                .build();
+
+        ServerConfig cfg = container.get(ServerConfig.class);
+        assertSame(cfg, container.get(ServerConfig.class), "bound once per property snapshot");
+        assertEquals("default", cfg.name, "fields without a key keep their initial value");
+        assertEquals(8080, cfg.port);
+        assertEquals(ServerConfig.Mode.ASYNC, cfg.mode);
+        assertEquals(Duration.ofSeconds(30), cfg.timeout);
+        assertEquals(new DataSize(4L << 20), cfg.maxBody);
+        assertEquals(2, cfg.pool.min);
+        assertEquals(16, cfg.pool.max);
+        assertEquals(List.of("a.example", "b.example"), cfg.hosts);
+        assertEquals(Set.of(80, 443), cfg.ports);
+        assertEquals(2, cfg.routes.size());
+        assertEquals("/api", cfg.routes.get(0).path);
+        assertEquals(Duration.ofSeconds(2), cfg.routes.get(0).timeout);
+        assertNull(cfg.routes.get(1).timeout);
+        assertEquals(Map.of("X-Frame-Options", "DENY", "Server", "aeolus"), cfg.headers);
+        assertEquals(Set.of("io", "cpu"), cfg.pools.keySet());
+        assertEquals(8, cfg.pools.get("io").max);
+
+        ServerConfig.ResourceReader reader = container.create(ServerConfig.ResourceReader.class);
+        assertEquals(cfg.timeout, reader.timeout);
+        assertEquals(cfg.maxBody, reader.maxBody);
+        assertEquals(cfg.mode, reader.mode);
+        assertEquals(cfg.hosts, reader.hosts);
+    }
+
+    @Test
+    void testBindConfigDoesNotKeepConfigClassesLoaded() throws Exception {
+        WeakReference<ClassLoader> loader = bindConfigInThrowawayLoader();
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(loader.get(), "compiled binders must not pin the class loader of a @Config type");
+    }
+
+    /** Binds a copy of {@link ServerConfig} (and its nested types) defined by a loader of its own. */
+    private static WeakReference<ClassLoader> bindConfigInThrowawayLoader() throws Exception {
+        ClassLoader loader = new ClassLoader(ContainerTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.startsWith(ServerConfig.class.getName())) return super.loadClass(name, resolve);
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> c = findLoadedClass(name);
+                    if (c != null) return c;
+                    try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        if (in == null) throw new ClassNotFoundException(name);
+                        byte[] bytes = in.readAllBytes();
+                        return defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+            }
+        };
+        Class<?> copy = loader.loadClass(ServerConfig.class.getName());
+        assertNotSame(ServerConfig.class, copy);
+        Properties props = new Properties();
+        props.setProperty("server.port", "8080");
+        props.setProperty("server.pool.max", "16");
+        assertSame(copy, PropertyBinder.bindConfig(copy, props).getClass());
+        return new WeakReference<>(loader);
+    }
+
+    @Test
+    void testConverterRegistryIsSharedAndValidated(@TempDir Path tmp) throws Exception {
+        Path file = tmp.resolve("server.properties");
+        Files.writeString(file, "server.port=http\nserver.hosts=a");
+        Container container = Container.builder()
+                .logger(new RecordingLogger("config"))
+                .loadProperties(file.toString())
+                .build();
+
+        BeanCreationException e = assertThrows(BeanCreationException.class, () -> container.get(ServerConfig.class));
+        assertTrue(e.getMessage().contains("server.port"), e.getMessage());
+
+        ValueConverters converters = new ValueConverters();
+        assertThrows(NumberFormatException.class, () -> converters.convert("8K", int.class), "units need DataSize");
+        assertEquals(new DataSize(8 << 10), converters.convert("8K", DataSize.class));
+
+        Container custom = Container.builder()
+                .logger(new RecordingLogger("config"))
+                .converter(int.class, v -> v.equals("http") ? 80 : Integer.parseInt(v))
+                .loadProperties(file.toString())
+                .build();
+        assertEquals(80, custom.get(ServerConfig.class).port);
+        assertEquals(List.of("a"), custom.get(ServerConfig.class).hosts);
+    }
+
+    @Test
+    void testPrototypeChurnKeepsTrackingAndHeapFlat() throws Exception {
+        Container container = Container.builder()
+                .logger(new ConsoleLogger(Level.INFO))
+                .scan("com.aeolus.core.di")
+                .build();
+        DisposableWidget kept = container.create(DisposableWidget.class);
+        for (int i = 0; i < 20_000; i++) container.create(DisposableWidget.class);
+        long baseline = usedHeapAfterGc(container);
+
+        // Enough churn that a leaked tracking entry per create() would show in both checks.
+        for (int i = 0; i < 100_000; i++) container.create(DisposableWidget.class);
+        long growth = usedHeapAfterGc(container) - baseline;
+
+        assertTrue((int) container.stats().get("managed.weak") < 10_000,
+                "collected prototypes must leave the tracked set: " + container.stats().get("managed.weak"));
+        assertTrue(growth < 8 * 1024 * 1024, "heap grew by " + (growth >> 20) + " MB over 100k create() calls");
+
+        int destroyedBefore = DisposableWidget.destroyed.get();
+        container.close();
+        assertTrue(DisposableWidget.destroyed.get() - destroyedBefore >= 1, "live prototypes are destroyed on close");
+        assertNotNull(kept);
+    }
+
+    /** Used heap once the collector and the container's Cleaner have caught up. */
+    private static long usedHeapAfterGc(Container container) throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 50 && (int) container.stats().get("managed.weak") > 1_000; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
     @Test
     void testBuilderHonorsCustomLogger() {
         RecordingLogger recordingLogger = new RecordingLogger("builder");
@@ -90,4 +865,88 @@ class ContainerTest {
         assertTrue(recordingLogger.infoMessages().stream()
                 .anyMatch(msg -> msg.contains("Scanned packages") || msg.contains("Loaded")));
     }
+
+    @Test
+    void testPrototypeReusesCachedInjectionPlan() {
+        Container container = Container.builder()
+                .scan("com.aeolus.core.di")
+                .build();
+
+        PrototypeWidget first = container.get(PrototypeWidget.class);
+        InjectionPlan plan = container.planFor(PrototypeWidget.class);
+        PrototypeWidget second = container.get(PrototypeWidget.class);
+
+        assertNotSame(first, second);
+        assertSame(plan, container.planFor(PrototypeWidget.class));
+        assertSame(first.dummy, second.dummy);
+        assertNotNull(second.named);
+        assertEquals(1, second.initCalls);
+    }
+
+    @Test
+    void testInstantiationStrategiesWireIdentically() {
+        for (InstantiationStrategy strategy : new InstantiationStrategy[]{
+                InstantiationStrategy.reflective(), InstantiationStrategy.methodHandles()}) {
+            Container container = Container.builder()
+                    .instantiationStrategy(strategy)
+                    .scan("com.aeolus.core.di")
+                    .build();
+
+            PrototypeWidget widget = container.create(PrototypeWidget.class);
+            assertNotNull(widget.dummy);
+            assertEquals("named-pong", widget.named.ping());
+            assertEquals(1, widget.initCalls);
+        }
+    }
+
+    @Test
+    void testBytecodeScanMatchesReflectiveScan() {
+        Set<Class<?>> bytecode = ComponentScanner.scan(ScanMode.BYTECODE, "com.aeolus.core.di");
+        Set<Class<?>> reflective = ComponentScanner.scan(ScanMode.REFLECTIVE, "com.aeolus.core.di");
+
+        assertEquals(reflective, bytecode);
+        assertTrue(bytecode.contains(AppTestConfig.class));
+        assertTrue(bytecode.contains(ThreadScopedComponent.class));
+        assertFalse(bytecode.contains(PrototypeWidget.class));
+    }
+
+    @Test
+    void testMetadataCacheIsReusedUntilClasspathChanges(@TempDir Path tmp) throws Exception {
+        // Scan a private copy of the fixtures, so touching a class file here cannot invalidate
+        // the metadata cache of any other test. The root needs URL-decoding to be stamped.
+        Path fixtures = Path.of(PrototypeWidget.class.getResource("PrototypeWidget.class").toURI()).getParent();
+        Path root = tmp.resolve("class files");
+        Path copy = root.resolve("com/aeolus/core/di");
+        Files.createDirectories(copy.getParent());
+        try (var walk = Files.walk(fixtures)) {
+            for (Path p : (Iterable<Path>) walk::iterator)
+                Files.copy(p, copy.resolve(fixtures.relativize(p).toString()));
+        }
+        Path cacheFile = tmp.resolve("meta.cache");
+
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader cl = new URLClassLoader(new URL[]{root.toUri().toURL()}, previous)) {
+            Thread.currentThread().setContextClassLoader(cl);
+
+            RecordingLogger cold = new RecordingLogger("cold");
+            Container.builder().logger(cold).metadataCache(cacheFile).scan("com.aeolus.core.di").build();
+            assertTrue(cold.infoMessages().stream().anyMatch(msg -> msg.contains("Scanned packages")));
+
+            RecordingLogger warm = new RecordingLogger("warm");
+            Container container = Container.builder().logger(warm).metadataCache(cacheFile).scan("com.aeolus.core.di").build();
+            assertTrue(warm.infoMessages().stream().anyMatch(msg -> msg.contains("from cache")));
+            assertEquals("pong", container.get(DummyService.class).ping());
+            assertEquals("named-pong", container.get(NamedConsumer.class).call());
+            assertEquals("default", ((RecordingLogger) container.get(Logger.class)).id());
+
+            File classFile = copy.resolve("PrototypeWidget.class").toFile();
+            assertTrue(classFile.setLastModified(System.currentTimeMillis() + 60_000));
+
+            RecordingLogger stale = new RecordingLogger("stale");
+            Container.builder().logger(stale).metadataCache(cacheFile).scan("com.aeolus.core.di").build();
+            assertTrue(stale.infoMessages().stream().anyMatch(msg -> msg.contains("Scanned packages")));
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
 }
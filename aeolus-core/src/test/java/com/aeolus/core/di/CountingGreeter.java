@@ -0,0 +1,20 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.annotations.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class CountingGreeter implements Greeter {
+    static final AtomicInteger created = new AtomicInteger();
+
+    CountingGreeter() {
+        created.incrementAndGet();
+    }
+
+    @Override
+    public String greet(String name) {
+        if (name == null) throw new IllegalArgumentException("name");
+        return "hello " + name;
+    }
+}
@@ -0,0 +1,18 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.annotations.Scope;
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Scope("prototype")
+class DisposableWidget {
+    static final AtomicInteger destroyed = new AtomicInteger();
+
+    final byte[] payload = new byte[256];
+
+    @PreDestroy
+    void close() {
+        destroyed.incrementAndGet();
+    }
+}
@@ -0,0 +1,14 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.annotations.Scope;
+import jakarta.annotation.PreDestroy;
+
+@Scope("refresh")
+class ExpiringWidget {
+    boolean destroyed;
+
+    @PreDestroy
+    void destroy() {
+        destroyed = true;
+    }
+}
@@ -0,0 +1,5 @@
+package com.aeolus.core.di;
+
+public interface Greeter {
+    String greet(String name);
+}
@@ -0,0 +1,14 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.annotations.Lazy;
+import jakarta.inject.Inject;
+
+class LazyConsumer {
+    final Greeter viaConstructor;
+    @Inject @Lazy Greeter viaField;
+
+    @Inject
+    LazyConsumer(@Lazy Greeter greeter) {
+        this.viaConstructor = greeter;
+    }
+}
@@ -0,0 +1,23 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.annotations.Scope;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+@Scope("prototype")
+class PrototypeWidget {
+    @Inject DummyService dummy;
+    NamedDummyWithDeps named;
+    int initCalls;
+
+    @Inject
+    void setNamed(@Named("namedDummyWithDeps") NamedDummyWithDeps named) {
+        this.named = named;
+    }
+
+    @PostConstruct
+    void init() {
+        initCalls++;
+    }
+}
@@ -0,0 +1,24 @@
+package com.aeolus.core.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+
+import java.util.function.Supplier;
+
+class ProviderConsumer {
+    final Provider<DummyService> dummies;
+    @Inject Supplier<NamedConsumer> consumers;
+    @Inject Provider<PrototypeWidget> widgets;
+    Provider<NamedDummyWithDeps> named;
+
+    @Inject
+    ProviderConsumer(Provider<DummyService> dummies) {
+        this.dummies = dummies;
+    }
+
+    @Inject
+    void setNamed(@Named("namedDummyWithDeps") Provider<NamedDummyWithDeps> named) {
+        this.named = named;
+    }
+}
@@ -25,6 +25,10 @@ class RecordingLogger implements Logger {
         return Collections.unmodifiableList(infoMessages);
     }
 
+    List<String> warnMessages() {
+        return Collections.unmodifiableList(warnMessages);
+    }
+
     @Override
     public void trace(String msg, Object... args) {
         traceMessages.add(format(msg, args));
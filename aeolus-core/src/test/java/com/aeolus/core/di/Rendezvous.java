@@ -0,0 +1,45 @@
+package com.aeolus.core.di;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows that fixtures run concurrently. Once {@link #arm(int) armed} for {@code n} parties, each
+ * {@link #arrive} waits (up to 5 s) for the others, and those that met them all are recorded as
+ * {@link #overlapped()}. Unarmed, arriving does nothing. {@code ContainerTest} resets it around
+ * every test.
+ */
+public final class Rendezvous {
+
+    private static volatile CountDownLatch latch;
+    private static final Set<String> overlapped = ConcurrentHashMap.newKeySet();
+
+    private Rendezvous() { }
+
+    public static void arm(int parties) {
+        overlapped.clear();
+        latch = new CountDownLatch(parties);
+    }
+
+    public static void reset() {
+        latch = null;
+        overlapped.clear();
+    }
+
+    public static void arrive(String name) {
+        CountDownLatch l = latch;
+        if (l == null) return;
+        l.countDown();
+        try {
+            if (l.await(5, TimeUnit.SECONDS)) overlapped.add(name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static Set<String> overlapped() {
+        return Set.copyOf(overlapped);
+    }
+}
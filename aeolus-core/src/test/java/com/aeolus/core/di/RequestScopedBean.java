@@ -0,0 +1,16 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.annotations.Scope;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+@Scope("request")
+class RequestScopedBean {
+    @Inject DummyService dummy;
+    boolean destroyed;
+
+    @PreDestroy
+    void destroy() {
+        destroyed = true;
+    }
+}
@@ -0,0 +1,208 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.exceptions.CircularDependencyException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScopeManagerTest {
+
+    private static final int THREADS = 256;
+
+    static final class Cold1 { }
+    static final class Cold2 { }
+    static final class Cold3 { }
+    static final class Cold4 { }
+
+    @Test
+    void testColdSingletonsAreCreatedOnceUnderContention() throws Exception {
+        ScopeManager scopes = new ScopeManager();
+        List<Class<?>> types = List.of(Cold1.class, Cold2.class, Cold3.class, Cold4.class);
+        ConcurrentHashMap<Class<?>, AtomicInteger> creations = new ConcurrentHashMap<>();
+        Set<Object> seen = ConcurrentHashMap.newKeySet();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Class<?> type = types.get(i % types.size());
+            futures.add(pool.submit(() -> {
+                start.await();
+                seen.add(create(scopes, type, creations));
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(types.size(), seen.size(), "one instance per type");
+        for (Class<?> type : types)
+            assertEquals(1, creations.get(type).get(), "factory ran once for " + type.getSimpleName());
+    }
+
+    @Test
+    void testFailedCreationPropagatesToWaitersAndCanBeRetried() throws Exception {
+        ScopeManager scopes = new ScopeManager();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> creator = pool.submit(() -> scopes.getOrCreate("singleton", Object.class, () -> {
+                entered.countDown();
+                await(release);
+                throw new IllegalStateException("boom");
+            }));
+            entered.await();
+            Future<Object> waiter = pool.submit(() -> scopes.getOrCreate("singleton", Object.class, Object::new));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertInstanceOf(IllegalStateException.class, assertThrows(ExecutionException.class, creator::get).getCause());
+            // The waiter either joined the failed attempt or started a fresh one after it was cleared.
+            try {
+                assertNotNull(waiter.get());
+            } catch (ExecutionException e) {
+                assertEquals("boom", e.getCause().getMessage());
+            }
+            assertNotNull(scopes.getOrCreate("singleton", Object.class, Object::new));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCycleAcrossThreadsFailsInsteadOfDeadlocking() {
+        ScopeManager scopes = new ScopeManager();
+        CyclicBarrier bothCreating = new CyclicBarrier(2);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            try {
+                Future<Cold1> a = pool.submit(() -> scopes.getOrCreate("singleton", Cold1.class, () -> {
+                    await(bothCreating);
+                    scopes.getOrCreate("singleton", Cold2.class, Cold2::new);
+                    return new Cold1();
+                }));
+                Future<Cold2> b = pool.submit(() -> scopes.getOrCreate("singleton", Cold2.class, () -> {
+                    await(bothCreating);
+                    scopes.getOrCreate("singleton", Cold1.class, Cold1::new);
+                    return new Cold2();
+                }));
+
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> {
+                    a.get();
+                    b.get();
+                });
+                assertInstanceOf(CircularDependencyException.class, failure.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        });
+    }
+
+    @Test
+    void testRecursiveCreationOnSameThreadIsRejected() {
+        ScopeManager scopes = new ScopeManager();
+        assertThrows(IllegalStateException.class, () -> scopes.getOrCreate("singleton", Cold1.class, () -> {
+            scopes.getOrCreate("singleton", Cold1.class, Cold1::new);
+            return new Cold1();
+        }));
+    }
+
+    @Test
+    void testExpiringScopeEvictsOldestBeyondMaxSize() {
+        AtomicLong clock = new AtomicLong();
+        List<Object> destroyed = new ArrayList<>();
+        ScopeManager scopes = new ScopeManager(destroyed::add);
+        ExpiringScope bounded = new ExpiringScope(Duration.ofMinutes(1), 2, clock::get);
+        scopes.register("bounded", bounded);
+
+        Cold1 one = scopes.getOrCreate("bounded", Cold1.class, Cold1::new);
+        clock.incrementAndGet();
+        Cold2 two = scopes.getOrCreate("bounded", Cold2.class, Cold2::new);
+        clock.incrementAndGet();
+        scopes.getOrCreate("bounded", Cold3.class, Cold3::new);
+
+        assertEquals(List.of(one), destroyed);
+        assertEquals(2, bounded.size());
+        assertSame(two, scopes.getOrCreate("bounded", Cold2.class, Cold2::new));
+
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertEquals(2, bounded.evictExpired());
+        assertEquals(0, bounded.size());
+        assertThrows(IllegalStateException.class, () -> scopes.getOrCreate("nope", Cold1.class, Cold1::new));
+    }
+
+    @Test
+    void testExpiredInstanceIsDestroyedOnceWhenEvictionRacesRefresh() {
+        AtomicLong clock = new AtomicLong();
+        List<Object> destroyed = new CopyOnWriteArrayList<>();
+        ScopeManager scopes = new ScopeManager(destroyed::add);
+        ExpiringScope refresh = new ExpiringScope(Duration.ofMinutes(1), 8, clock::get);
+        scopes.register("refresh", refresh);
+
+        Cold1 stale = scopes.getOrCreate("refresh", Cold1.class, Cold1::new);
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // Evict from another thread while the lookup is creating the replacement.
+        Cold1 fresh = scopes.getOrCreate("refresh", Cold1.class, () -> {
+            assertEquals(1, CompletableFuture.supplyAsync(refresh::evictExpired).join());
+            return new Cold1();
+        });
+
+        assertEquals(List.of(stale), destroyed);
+        assertSame(fresh, scopes.getOrCreate("refresh", Cold1.class, Cold1::new));
+        assertEquals(1, refresh.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T create(ScopeManager scopes, Class<T> type, Map<Class<?>, AtomicInteger> creations) {
+        return scopes.getOrCreate("singleton", type, () -> {
+            creations.computeIfAbsent(type, t -> new AtomicInteger()).incrementAndGet();
+            sleep(20); // widen the race window
+            try {
+                return (T) type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException | BrokenBarrierException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.aeolus.core.di;
+
+import com.aeolus.core.di.annotations.Config;
+import jakarta.annotation.Resource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Config(prefix = "server")
+class ServerConfig {
+    enum Mode { BLOCKING, ASYNC }
+
+    static class Pool {
+        int min;
+        int max;
+    }
+
+    static class Route {
+        String path;
+        Duration timeout;
+    }
+
+    /** Reads the same keys through {@code @Resource}, with the converters used for binding. */
+    static class ResourceReader {
+        @Resource(name = "server.timeout") Duration timeout;
+        @Resource(name = "server.maxBody") DataSize maxBody;
+        @Resource(name = "server.mode") Mode mode;
+        @Resource(name = "server.hosts") List<String> hosts;
+    }
+
+    String name = "default";
+    int port;
+    Mode mode;
+    Duration timeout;
+    DataSize maxBody;
+    Pool pool;
+    List<String> hosts;
+    Set<Integer> ports;
+    List<Route> routes;
+    Map<String, String> headers;
+    Map<String, Pool> pools;
+}
@@ -0,0 +1,19 @@
+package com.aeolus.core.di.beans;
+
+import com.aeolus.core.di.Rendezvous;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** Records which {@code @Bean} methods of {@link BeansConfig} ran. */
+public final class BeanProbe {
+
+    public static final List<String> created = new CopyOnWriteArrayList<>();
+
+    private BeanProbe() { }
+
+    static void arrive(String bean) {
+        Rendezvous.arrive(bean);
+        created.add(bean);
+    }
+}
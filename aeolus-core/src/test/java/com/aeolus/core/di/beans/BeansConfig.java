@@ -0,0 +1,36 @@
+package com.aeolus.core.di.beans;
+
+import com.aeolus.core.di.annotations.Bean;
+import com.aeolus.core.di.annotations.Configuration;
+import jakarta.inject.Named;
+
+@Configuration
+public class BeansConfig {
+
+    @Bean
+    @Named("primaryPool")
+    public Pool primaryPool() {
+        BeanProbe.arrive("primaryPool");
+        return new Pool("primary");
+    }
+
+    @Bean
+    @Named("replicaPool")
+    public Pool replicaPool() {
+        BeanProbe.arrive("replicaPool");
+        return new Pool("replica");
+    }
+
+    @Bean
+    public Gateway gateway(@Named("primaryPool") Pool primary, @Named("replicaPool") Pool replica) {
+        BeanProbe.created.add("gateway");
+        return new Gateway(primary, replica);
+    }
+
+    @Bean
+    @Named("unusedPool")
+    public Pool unusedPool() {
+        BeanProbe.created.add("unusedPool");
+        return new Pool("unused");
+    }
+}
@@ -0,0 +1,3 @@
+package com.aeolus.core.di.beans;
+
+public record Pool(String name) { }
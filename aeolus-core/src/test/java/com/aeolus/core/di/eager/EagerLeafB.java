@@ -0,0 +1,12 @@
+package com.aeolus.core.di.eager;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class EagerLeafB {
+    @PostConstruct
+    void init() {
+        EagerProbe.arrive(EagerLeafB.class);
+    }
+}
@@ -0,0 +1,19 @@
+package com.aeolus.core.di.eager;
+
+import com.aeolus.core.di.Rendezvous;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Records eager initialization of the fixtures in this package. */
+public final class EagerProbe {
+
+    public static final Set<String> initialized = ConcurrentHashMap.newKeySet();
+
+    private EagerProbe() { }
+
+    static void arrive(Class<?> type) {
+        Rendezvous.arrive(type.getSimpleName());
+        initialized.add(type.getSimpleName());
+    }
+}
@@ -0,0 +1,26 @@
+package com.aeolus.core.di.eager;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+
+import java.util.Set;
+
+@Component
+public class EagerRoot {
+    final boolean depsReady;
+
+    @Inject
+    public EagerRoot(EagerLeafA a, EagerLeafB b) {
+        this.depsReady = EagerProbe.initialized.containsAll(Set.of("EagerLeafA", "EagerLeafB"));
+    }
+
+    public boolean depsReady() {
+        return depsReady;
+    }
+
+    @PostConstruct
+    void init() {
+        EagerProbe.arrive(EagerRoot.class);
+    }
+}
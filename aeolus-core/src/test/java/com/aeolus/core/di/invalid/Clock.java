@@ -0,0 +1,5 @@
+package com.aeolus.core.di.invalid;
+
+public interface Clock {
+    long now();
+}
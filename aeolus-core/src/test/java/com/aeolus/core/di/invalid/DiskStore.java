@@ -0,0 +1,6 @@
+package com.aeolus.core.di.invalid;
+
+import com.aeolus.core.di.annotations.Component;
+
+@Component
+public class DiskStore implements Store { }
@@ -0,0 +1,14 @@
+package com.aeolus.core.di.invalid;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.inject.Inject;
+
+@Component
+public class Gauge {
+    final Meter meter;
+
+    @Inject
+    public Gauge(Meter meter) {
+        this.meter = meter;
+    }
+}
@@ -0,0 +1,10 @@
+package com.aeolus.core.di.invalid;
+
+/** Concrete but not constructible by the container: no {@code @Inject} or no-argument constructor. */
+public class Meter {
+    final String unit;
+
+    public Meter(String unit) {
+        this.unit = unit;
+    }
+}
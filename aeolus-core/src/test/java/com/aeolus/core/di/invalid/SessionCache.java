@@ -0,0 +1,11 @@
+package com.aeolus.core.di.invalid;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+
+@Component
+public class SessionCache {
+    @Inject SessionHandle handle;
+    @Inject Provider<SessionState> current;
+}
@@ -0,0 +1,11 @@
+package com.aeolus.core.di.invalid;
+
+import com.aeolus.core.di.annotations.Component;
+import com.aeolus.core.di.annotations.Scope;
+import jakarta.inject.Inject;
+
+@Component
+@Scope("prototype")
+public class SessionHandle {
+    @Inject SessionState state;
+}
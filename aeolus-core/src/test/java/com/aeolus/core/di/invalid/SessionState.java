@@ -0,0 +1,8 @@
+package com.aeolus.core.di.invalid;
+
+import com.aeolus.core.di.annotations.Component;
+import com.aeolus.core.di.annotations.Scope;
+
+@Component
+@Scope("request")
+public class SessionState { }
@@ -0,0 +1,3 @@
+package com.aeolus.core.di.invalid;
+
+public interface Store { }
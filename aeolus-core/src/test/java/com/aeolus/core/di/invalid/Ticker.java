@@ -0,0 +1,14 @@
+package com.aeolus.core.di.invalid;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.inject.Inject;
+
+@Component
+public class Ticker {
+    final Clock clock;
+
+    @Inject
+    public Ticker(Clock clock) {
+        this.clock = clock;
+    }
+}
@@ -0,0 +1,10 @@
+package com.aeolus.core.di.shutdown;
+
+import jakarta.annotation.PreDestroy;
+
+public class ShutdownLeafA {
+    @PreDestroy
+    void close() {
+        ShutdownProbe.destroy(ShutdownLeafA.class);
+    }
+}
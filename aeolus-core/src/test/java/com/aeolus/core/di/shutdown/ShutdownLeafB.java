@@ -0,0 +1,10 @@
+package com.aeolus.core.di.shutdown;
+
+import jakarta.annotation.PreDestroy;
+
+public class ShutdownLeafB {
+    @PreDestroy
+    void close() {
+        ShutdownProbe.destroy(ShutdownLeafB.class);
+    }
+}
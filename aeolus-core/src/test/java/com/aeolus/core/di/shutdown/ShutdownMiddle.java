@@ -0,0 +1,8 @@
+package com.aeolus.core.di.shutdown;
+
+import jakarta.inject.Inject;
+
+public class ShutdownMiddle {
+    @Inject ShutdownLeafA a;
+    @Inject ShutdownLeafB b;
+}
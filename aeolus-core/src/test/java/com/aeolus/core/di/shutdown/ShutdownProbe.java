@@ -0,0 +1,23 @@
+package com.aeolus.core.di.shutdown;
+
+import com.aeolus.core.di.Rendezvous;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+/** Records the {@code @PreDestroy} calls of the fixtures in this package. */
+public final class ShutdownProbe {
+
+    /** Holds {@link StuckBean}'s hook until released; tests install a fresh latch. */
+    public static volatile CountDownLatch release = new CountDownLatch(1);
+
+    public static final List<String> destroyed = new CopyOnWriteArrayList<>();
+
+    private ShutdownProbe() { }
+
+    static void destroy(Class<?> type) {
+        if (type != ShutdownRoot.class) Rendezvous.arrive(type.getSimpleName());
+        destroyed.add(type.getSimpleName());
+    }
+}
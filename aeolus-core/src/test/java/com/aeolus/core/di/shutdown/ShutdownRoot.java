@@ -0,0 +1,14 @@
+package com.aeolus.core.di.shutdown;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+/** Injects both leaves through a bean without hooks, so its ordering must be transitive. */
+public class ShutdownRoot {
+    @Inject ShutdownMiddle middle;
+
+    @PreDestroy
+    void close() {
+        ShutdownProbe.destroy(ShutdownRoot.class);
+    }
+}
@@ -0,0 +1,12 @@
+package com.aeolus.core.di.shutdown;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.TimeUnit;
+
+public class StuckBean {
+    @PreDestroy
+    void close() throws InterruptedException {
+        ShutdownProbe.release.await(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,20 @@
+package com.aeolus.core.di.warmup;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.annotation.PostConstruct;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class ModelCache {
+    private volatile boolean loaded;
+
+    @PostConstruct
+    CompletableFuture<Void> load() {
+        return WarmupProbe.gate.thenRun(() -> loaded = true);
+    }
+
+    public boolean loaded() {
+        return loaded;
+    }
+}
@@ -0,0 +1,28 @@
+package com.aeolus.core.di.warmup;
+
+import com.aeolus.core.di.annotations.Component;
+import com.aeolus.core.di.annotations.Scope;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+
+/** Synchronous initializer depending on an async one: its creation waits for the cache. */
+@Component
+@Scope("prototype")
+public class Ranker {
+    private final ModelCache cache;
+    private boolean sawLoadedCache;
+
+    @Inject
+    public Ranker(ModelCache cache) {
+        this.cache = cache;
+    }
+
+    @PostConstruct
+    void init() {
+        sawLoadedCache = cache.loaded();
+    }
+
+    public boolean sawLoadedCache() {
+        return sawLoadedCache;
+    }
+}
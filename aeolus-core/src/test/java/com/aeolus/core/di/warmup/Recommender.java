@@ -0,0 +1,31 @@
+package com.aeolus.core.di.warmup;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/** Async initializer depending on another one: primed only after the cache has loaded. */
+@Component
+public class Recommender {
+    @Inject ModelCache cache;
+    private volatile boolean primed;
+    private volatile boolean sawLoadedCache;
+
+    @PostConstruct
+    CompletionStage<Void> prime() {
+        sawLoadedCache = cache.loaded();
+        primed = true;
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public boolean primed() {
+        return primed;
+    }
+
+    public boolean sawLoadedCache() {
+        return sawLoadedCache;
+    }
+}
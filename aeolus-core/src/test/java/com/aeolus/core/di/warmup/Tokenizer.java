@@ -0,0 +1,19 @@
+package com.aeolus.core.di.warmup;
+
+import com.aeolus.core.di.annotations.Component;
+import jakarta.annotation.PostConstruct;
+
+/** Synchronous initializer with no async dependencies; never waits for the cache. */
+@Component
+public class Tokenizer {
+    private boolean ready;
+
+    @PostConstruct
+    void init() {
+        ready = true;
+    }
+
+    public boolean ready() {
+        return ready;
+    }
+}
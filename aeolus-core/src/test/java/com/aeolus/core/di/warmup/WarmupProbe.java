@@ -0,0 +1,11 @@
+package com.aeolus.core.di.warmup;
+
+import java.util.concurrent.CompletableFuture;
+
+/** Controls when {@link ModelCache} finishes loading; completed by default so other tests never wait. */
+public final class WarmupProbe {
+
+    public static volatile CompletableFuture<Void> gate = CompletableFuture.completedFuture(null);
+
+    private WarmupProbe() { }
+}
@@ -0,0 +1,135 @@
+package com.aeolus.core.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLoggerTest {
+
+    @Test
+    void testMessagesFromManyThreadsAreWrittenInPerThreadOrder() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AsyncLogger log = new AsyncLogger(new PrintStream(bytes, false, StandardCharsets.UTF_8),
+                Level.INFO, 64, AsyncLogger.Overflow.BLOCK)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int id = t;
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < 1_000; i++) log.info("t%d-%d", id, i);
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread t : threads) t.join();
+            log.trace("filtered %s", "out");
+            log.flush();
+            assertEquals(0, log.dropped());
+        }
+
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4_000, lines.length);
+        int[] next = new int[4];
+        for (String line : lines) {
+            assertTrue(line.contains(" [INFO] t"), line);
+            String[] parts = line.substring(line.indexOf("] t") + 3).split("-");
+            int id = Integer.parseInt(parts[0]);
+            assertEquals(next[id]++, Integer.parseInt(parts[1]), "per-thread order");
+        }
+    }
+
+    @Test
+    void testMessagesLoggedWhileClosingAreNotLost() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            AsyncLogger log = new AsyncLogger(new PrintStream(bytes, false, StandardCharsets.UTF_8),
+                    Level.INFO, 16, AsyncLogger.Overflow.BLOCK);
+            CountDownLatch halfway = new CountDownLatch(4);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        if (i == 250) halfway.countDown();
+                        log.info("m%d", i);
+                    }
+                }));
+            }
+            for (int c = 0; c < 2; c++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        halfway.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    log.close();
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread t : threads) t.join();
+            log.close();
+
+            assertEquals(2_000, bytes.toString(StandardCharsets.UTF_8).split("\n").length, "round " + round);
+        }
+    }
+
+    @Test
+    void testFullBufferDropsAndReportsUnderDropPolicy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream stalled = new OutputStream() {
+            @Override
+            public void write(int b) throws java.io.IOException {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new java.io.InterruptedIOException();
+                }
+                bytes.write(b);
+            }
+        };
+
+        try (AsyncLogger log = new AsyncLogger(new PrintStream(stalled, false, StandardCharsets.UTF_8),
+                Level.TRACE, 8, AsyncLogger.Overflow.DROP)) {
+            for (int i = 0; i < 100; i++) log.warn("message %d", i);
+            assertTrue(log.dropped() >= 100 - 2 * 8, "writer holds at most one batch plus a full buffer");
+            release.countDown();
+            log.flush();
+            log.info("after");
+        }
+
+        String out = bytes.toString(StandardCharsets.UTF_8);
+        assertTrue(out.contains("[WARN] Log buffer full: dropped"), out);
+        assertTrue(out.contains("[INFO] after"), out);
+    }
+
+    @Test
+    void testLevelThreshold() {
+        assertTrue(Level.INFO.allows(Level.ERROR));
+        assertFalse(Level.INFO.allows(Level.TRACE));
+        assertFalse(Level.OFF.allows(Level.ERROR));
+        assertFalse(new ConsoleLogger(Level.WARN).isTraceEnabled());
+        assertTrue(new ConsoleLogger(Level.TRACE).isTraceEnabled());
+    }
+
+    @Test
+    void testUnknownLevelPropertyFallsBackToInfo() {
+        String previous = System.getProperty(Level.PROPERTY);
+        System.setProperty(Level.PROPERTY, "verbose");
+        try {
+            assertEquals(Level.INFO, Level.fromSystemProperty());
+            assertFalse(new ConsoleLogger().isTraceEnabled());
+            System.setProperty(Level.PROPERTY, " trace ");
+            assertEquals(Level.TRACE, Level.fromSystemProperty());
+        } finally {
+            if (previous == null) System.clearProperty(Level.PROPERTY);
+            else System.setProperty(Level.PROPERTY, previous);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.aeolus.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes {@value #INDEX_LOCATION}: the binary names of every class in the compilation
+ * annotated with {@code @Component}, {@code @Configuration} or {@code @Singleton}.
+ * <p>
+ * {@code ComponentScanner} reads the index instead of walking the classpath root it was
+ * compiled into. Annotations are matched by name, so the processor has no dependency on
+ * {@code aeolus-core}. On incremental builds the previous index is merged, keeping entries
+ * whose types still exist.
+ */
+@SupportedAnnotationTypes({
+        ComponentIndexProcessor.COMPONENT,
+        ComponentIndexProcessor.CONFIGURATION,
+        ComponentIndexProcessor.SINGLETON
+})
+public final class ComponentIndexProcessor extends AbstractProcessor {
+
+    static final String INDEX_LOCATION = "META-INF/aeolus/components.idx";
+
+    static final String COMPONENT = "com.aeolus.core.di.annotations.Component";
+    static final String CONFIGURATION = "com.aeolus.core.di.annotations.Configuration";
+    static final String SINGLETON = "jakarta.inject.Singleton";
+
+    private final Set<String> components = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (e.getKind() == ElementKind.CLASS)
+                    components.add(processingEnv.getElementUtils().getBinaryName((TypeElement) e).toString());
+            }
+        }
+        if (roundEnv.processingOver() && !components.isEmpty())
+            writeIndex();
+        return false;
+    }
+
+    private void writeIndex() {
+        Set<String> entries = new TreeSet<>(components);
+        entries.addAll(readPreviousIndex());
+        try {
+            FileObject out = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer w = new OutputStreamWriter(out.openOutputStream(), StandardCharsets.UTF_8)) {
+                w.write("# Aeolus component index (generated)\n");
+                for (String name : entries) w.write(name + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + INDEX_LOCATION + ": " + e);
+        }
+    }
+
+    private Set<String> readPreviousIndex() {
+        Set<String> previous = new TreeSet<>();
+        try {
+            FileObject in = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (BufferedReader br = new BufferedReader(
+                    new InputStreamReader(in.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) continue;
+                    if (processingEnv.getElementUtils().getTypeElement(line.replace('$', '.')) != null)
+                        previous.add(line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous index: full build
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,447 @@
+package com.aeolus.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Generates plain-Java wiring for every {@code @Component}, {@code @Configuration} and
+ * {@code @Singleton} class when compiled with {@code -A}{@value #OPTION}{@code =true}.
+ * <p>
+ * For each component {@code p.Foo} it writes {@code p.Foo_AeolusFactory}, a
+ * {@code GeneratedFactory} that calls the constructor, {@code @Inject} fields and setters,
+ * {@code @Resource} fields, lifecycle and {@code @Bean} methods directly; being in the same
+ * package it reaches package-private members too. Each package gets a
+ * {@value #REGISTRY} listing its factories, registered in {@value #SERVICES} for
+ * {@code ScanMode.GENERATED}; components another processor adds in a later round go into
+ * a further {@code AeolusGeneratedRegistry2}, {@code 3}, ... of the same package. Classes the generated code cannot reach — private members,
+ * private or inner classes — or whose {@code @PostConstruct} returns a value the container
+ * must track get no factory and are wired reflectively as before; a note says why. Like
+ * {@link ComponentIndexProcessor}, annotations are matched by name.
+ */
+@SupportedAnnotationTypes({
+        ComponentIndexProcessor.COMPONENT,
+        ComponentIndexProcessor.CONFIGURATION,
+        ComponentIndexProcessor.SINGLETON
+})
+@SupportedOptions(FactoryProcessor.OPTION)
+public final class FactoryProcessor extends AbstractProcessor {
+
+    static final String OPTION = "aeolus.generateFactories";
+    static final String SUFFIX = "_AeolusFactory";
+    static final String REGISTRY = "AeolusGeneratedRegistry";
+    static final String SERVICES = "META-INF/services/com.aeolus.core.di.GeneratedRegistry";
+
+    private static final String FACTORY = "com.aeolus.core.di.GeneratedFactory";
+    private static final String INJECT = "jakarta.inject.Inject";
+    private static final String NAMED = "jakarta.inject.Named";
+    private static final String PROVIDER = "jakarta.inject.Provider";
+    private static final String SUPPLIER = "java.util.function.Supplier";
+    private static final String SCOPE = "com.aeolus.core.di.annotations.Scope";
+    private static final String LAZY = "com.aeolus.core.di.annotations.Lazy";
+    private static final String BEAN = "com.aeolus.core.di.annotations.Bean";
+    private static final String RESOURCE = "jakarta.annotation.Resource";
+    private static final String POST_CONSTRUCT = "jakarta.annotation.PostConstruct";
+    private static final String PRE_DESTROY = "jakarta.annotation.PreDestroy";
+    private static final Set<String> COLLECTIONS = Set.of("java.util.List", "java.util.Set", "java.util.Collection");
+
+    /** Factory class names by package, for packages whose registry is not written yet. */
+    private final Map<String, Set<String>> pending = new TreeMap<>();
+    /** Binary names of components without a factory, by package, until their registry is written. */
+    private final Map<String, Set<String>> reflective = new TreeMap<>();
+    private final Set<String> generated = new HashSet<>();
+    private final Set<String> registries = new TreeSet<>();
+    /** Registries written so far, by package; a source file can only be created once. */
+    private final Map<String, Integer> written = new HashMap<>();
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment env) {
+        super.init(env);
+        elements = env.getElementUtils();
+        types = env.getTypeUtils();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!Boolean.parseBoolean(processingEnv.getOptions().get(OPTION))) return false;
+
+        boolean found = false;
+        for (TypeElement annotation : annotations) {
+            for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (e.getKind() != ElementKind.CLASS) continue;
+                TypeElement type = (TypeElement) e;
+                if (generated.add(elements.getBinaryName(type).toString())) found |= generate(type);
+            }
+        }
+        // Registries go out once a round adds no components, so they are compiled normally.
+        if (!found || roundEnv.processingOver()) writeRegistries();
+        if (roundEnv.processingOver() && !registries.isEmpty()) writeServices();
+        return false;
+    }
+
+    // ------------------------------------------------------------------------
+    // Factories
+    // ------------------------------------------------------------------------
+
+    /** Generates {@code type}'s factory; returns whether a source file was written. */
+    private boolean generate(TypeElement type) {
+        String pkg = elements.getPackageOf(type).getQualifiedName().toString();
+        String binary = elements.getBinaryName(type).toString();
+        String unsupported = unsupported(type);
+        if (unsupported != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No generated factory for " + type.getQualifiedName() + " (" + unsupported
+                            + "); it is wired reflectively", type);
+            reflective.computeIfAbsent(pkg, p -> new TreeSet<>()).add(binary);
+            pending.computeIfAbsent(pkg, p -> new TreeSet<>());
+            return false;
+        }
+
+        String factory = (pkg.isEmpty() ? binary : binary.substring(pkg.length() + 1)).replace('$', '_') + SUFFIX;
+        try {
+            write(pkg, factory, factorySource(type, pkg, factory), type);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + factory + ": " + e, type);
+            return false;
+        }
+        pending.computeIfAbsent(pkg, p -> new TreeSet<>()).add(factory);
+        return true;
+    }
+
+    /** Why generated code cannot wire {@code type}, or {@code null} if it can. */
+    private String unsupported(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) return "abstract class";
+        for (Element e = type; e instanceof TypeElement t; e = e.getEnclosingElement()) {
+            if (t.getModifiers().contains(Modifier.PRIVATE)) return "private class";
+            if (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC))
+                return "inner class";
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS)
+                return "local class";
+        }
+        ExecutableElement ctor = constructorOf(type);
+        if (ctor != null && ctor.getModifiers().contains(Modifier.PRIVATE)) return "private constructor";
+        for (Element e : type.getEnclosedElements()) {
+            boolean injected = has(e, INJECT) || has(e, RESOURCE) || has(e, POST_CONSTRUCT)
+                    || has(e, PRE_DESTROY) || (has(e, BEAN) && isConfiguration(type));
+            if (!injected || e.getKind() == ElementKind.CONSTRUCTOR) continue;
+            if (e.getModifiers().contains(Modifier.PRIVATE)) return "private member " + e.getSimpleName();
+            if (e.getKind() == ElementKind.FIELD && e.getModifiers().contains(Modifier.FINAL))
+                return "final field " + e.getSimpleName();
+            if (e instanceof ExecutableElement m && (has(m, POST_CONSTRUCT) || has(m, PRE_DESTROY))
+                    && !m.getParameters().isEmpty())
+                return "lifecycle method with parameters " + e.getSimpleName();
+            if (e instanceof ExecutableElement m && has(m, POST_CONSTRUCT)
+                    && m.getReturnType().getKind() != TypeKind.VOID)
+                return "async lifecycle method " + e.getSimpleName();
+        }
+        return null;
+    }
+
+    private String factorySource(TypeElement type, String pkg, String factory) {
+        String name = type.getQualifiedName().toString();
+        StringBuilder meta = new StringBuilder();
+        StringBuilder inject = new StringBuilder();
+        StringBuilder invoke = new StringBuilder();
+        StringBuilder beans = new StringBuilder();
+
+        meta.append("        return ").append(FACTORY).append(".Metadata.")
+                .append(isConfiguration(type) ? "configuration(" : "component(").append(name).append(".class)");
+        List<? extends TypeMirror> interfaces = type.getInterfaces();
+        if (interfaces.size() == 1) meta.append("\n                .boundAs(").append(literal(interfaces.get(0))).append(")");
+        String named = stringValue(type, NAMED, "value");
+        if (named != null) meta.append("\n                .named(").append(quote(named)).append(")");
+        String scope = stringValue(type, SCOPE, "value");
+        if (scope != null) meta.append("\n                .scope(").append(quote(scope)).append(")");
+
+        String newInstance;
+        ExecutableElement ctor = constructorOf(type);
+        if (ctor != null) {
+            List<String> points = new ArrayList<>();
+            List<String> args = new ArrayList<>();
+            List<? extends VariableElement> params = ctor.getParameters();
+            for (int i = 0; i < params.size(); i++) {
+                VariableElement p = params.get(i);
+                points.add(point(p.asType(), stringValue(p, NAMED, "value"), has(p, LAZY)));
+                args.add(cast(p.asType(), "args[" + i + "]"));
+            }
+            meta.append("\n                .constructor(").append(String.join(", ", points)).append(")");
+            newInstance = "        return new " + name + "(" + String.join(", ", args) + ");\n";
+        } else {
+            newInstance = "        throw new IllegalStateException(\"No valid constructor for " + name + "\");\n";
+        }
+
+        int member = 0;
+        for (VariableElement f : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!has(f, INJECT)) continue;
+            meta.append("\n                .field(").append(quote(f.getSimpleName().toString())).append(", ")
+                    .append(point(f.asType(), stringValue(f, NAMED, "value"), has(f, LAZY))).append(")");
+            inject.append(caseLine(member++, "bean." + f.getSimpleName() + " = " + cast(f.asType(), "value")));
+        }
+        for (ExecutableElement m : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!has(m, INJECT) || m.getParameters().size() != 1) continue;
+            VariableElement p = m.getParameters().get(0);
+            meta.append("\n                .setter(").append(quote(m.getSimpleName().toString())).append(", ")
+                    .append(point(p.asType(), stringValue(p, NAMED, "value"), has(m, LAZY) || has(p, LAZY))).append(")");
+            inject.append(caseLine(member++, "bean." + m.getSimpleName() + "(" + cast(p.asType(), "value") + ")"));
+        }
+        for (VariableElement f : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            String key = stringValue(f, RESOURCE, "name");
+            if (key == null) continue;
+            meta.append("\n                .resource(").append(quote(f.getSimpleName().toString())).append(", ")
+                    .append(quote(key)).append(", ").append(literal(f.asType())).append(", ")
+                    .append(elementLiteral(f.asType())).append(")");
+            inject.append(caseLine(member++, "bean." + f.getSimpleName() + " = " + cast(f.asType(), "value")));
+        }
+
+        int method = 0;
+        for (String lifecycle : List.of(POST_CONSTRUCT, PRE_DESTROY)) {
+            for (ExecutableElement m : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (!has(m, lifecycle)) continue;
+                meta.append(lifecycle.equals(POST_CONSTRUCT) ? "\n                .postConstruct(" : "\n                .preDestroy(")
+                        .append(quote(m.getSimpleName().toString())).append(")");
+                invoke.append(caseLine(method++, "bean." + m.getSimpleName() + "()"));
+            }
+        }
+
+        int bean = 0;
+        if (isConfiguration(type)) {
+            for (ExecutableElement m : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (!has(m, BEAN)) continue;
+                List<String> points = new ArrayList<>();
+                List<String> args = new ArrayList<>();
+                points.add(quote(m.getSimpleName().toString()));
+                points.add(literal(m.getReturnType()));
+                String beanName = stringValue(m, NAMED, "value");
+                points.add(beanName != null ? quote(beanName) : "null");
+                List<? extends VariableElement> params = m.getParameters();
+                for (int i = 0; i < params.size(); i++) {
+                    VariableElement p = params.get(i);
+                    points.add(point(p.asType(), stringValue(p, NAMED, "value"), has(p, LAZY)));
+                    args.add(cast(p.asType(), "args[" + i + "]"));
+                }
+                meta.append("\n                .bean(").append(String.join(", ", points)).append(")");
+                beans.append("            case ").append(bean++).append(": return bean.").append(m.getSimpleName())
+                        .append("(").append(String.join(", ", args)).append(");\n");
+            }
+        }
+        meta.append(";\n");
+
+        StringBuilder src = new StringBuilder();
+        if (!pkg.isEmpty()) src.append("package ").append(pkg).append(";\n\n");
+        src.append("/** Wiring for {@link ").append(name).append("}, generated by aeolus-processor. */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(FactoryProcessor.class.getName()).append("\")\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(factory).append(" implements ").append(FACTORY).append(" {\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(FACTORY).append(".Metadata metadata() {\n").append(meta).append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object newInstance(Object[] args) throws Throwable {\n").append(newInstance).append("    }\n\n");
+        appendSwitch(src, "public void inject(int index, Object target, Object value)", name, inject, "member");
+        appendSwitch(src, "public void invoke(int index, Object target)", name, invoke, "lifecycle method");
+        if (bean > 0) {
+            src.append("    @Override\n")
+                    .append("    public Object bean(int index, Object configuration, Object[] args) throws Throwable {\n")
+                    .append("        ").append(name).append(" bean = (").append(name).append(") configuration;\n")
+                    .append("        switch (index) {\n").append(beans)
+                    .append("            default: throw new IndexOutOfBoundsException(\"No @Bean method \" + index);\n")
+                    .append("        }\n    }\n");
+        }
+        src.setLength(src.length() - 1); // blank line after the last method
+        return src.append("}\n").toString();
+    }
+
+    private static void appendSwitch(StringBuilder src, String signature, String name, StringBuilder cases, String what) {
+        src.append("    @Override\n    ").append(signature).append(" throws Throwable {\n");
+        if (cases.length() > 0) {
+            src.append("        ").append(name).append(" bean = (").append(name).append(") target;\n")
+                    .append("        switch (index) {\n").append(cases)
+                    .append("            default: throw new IndexOutOfBoundsException(\"No ").append(what).append(" \" + index);\n")
+                    .append("        }\n");
+        } else {
+            src.append("        throw new IndexOutOfBoundsException(\"No ").append(what).append(" \" + index);\n");
+        }
+        src.append("    }\n\n");
+    }
+
+    private static String caseLine(int index, String statement) {
+        return "            case " + index + ": " + statement + "; break;\n";
+    }
+
+    // ------------------------------------------------------------------------
+    // Registries
+    // ------------------------------------------------------------------------
+
+    private void writeRegistries() {
+        for (Map.Entry<String, Set<String>> e : pending.entrySet()) {
+            String pkg = e.getKey();
+            int round = written.merge(pkg, 1, Integer::sum);
+            String registry = (round == 1) ? REGISTRY : REGISTRY + round;
+            StringBuilder src = new StringBuilder();
+            if (!pkg.isEmpty()) src.append("package ").append(pkg).append(";\n\n");
+            src.append("/** Factories of this package for ScanMode.GENERATED, generated by aeolus-processor. */\n")
+                    .append("@javax.annotation.processing.Generated(\"").append(FactoryProcessor.class.getName()).append("\")\n")
+                    .append("public final class ").append(registry)
+                    .append(" implements com.aeolus.core.di.GeneratedRegistry {\n\n")
+                    .append("    @Override\n")
+                    .append("    public java.util.List<").append(FACTORY).append("> factories() {\n")
+                    .append("        return java.util.List.of(");
+            List<String> factories = new ArrayList<>();
+            for (String factory : e.getValue()) factories.add("\n                new " + factory + "()");
+            src.append(String.join(",", factories)).append(");\n    }\n");
+            Set<String> fallback = reflective.remove(pkg);
+            if (fallback != null) {
+                List<String> names = new ArrayList<>();
+                for (String name : fallback) names.add("\n                " + quote(name));
+                src.append("\n    @Override\n")
+                        .append("    public java.util.List<String> reflective() {\n")
+                        .append("        return java.util.List.of(").append(String.join(",", names)).append(");\n    }\n");
+            }
+            src.append("}\n");
+            try {
+                write(pkg, registry, src.toString());
+                registries.add(pkg.isEmpty() ? registry : pkg + "." + registry);
+            } catch (IOException ex) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to write " + registry + " for package " + pkg + ": " + ex);
+            }
+        }
+        pending.clear();
+    }
+
+    private void writeServices() {
+        Set<String> entries = new TreeSet<>(registries);
+        try {
+            FileObject in = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICES);
+            try (BufferedReader br = new BufferedReader(
+                    new InputStreamReader(in.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#") && elements.getTypeElement(line) != null)
+                        entries.add(line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous registrations: full build
+        }
+        try {
+            FileObject out = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICES);
+            try (Writer w = new OutputStreamWriter(out.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String name : entries) w.write(name + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + SERVICES + ": " + e);
+        }
+    }
+
+    private void write(String pkg, String simpleName, String source, Element... origin) throws IOException {
+        String name = pkg.isEmpty() ? simpleName : pkg + "." + simpleName;
+        try (Writer w = processingEnv.getFiler().createSourceFile(name, origin).openWriter()) {
+            w.write(source);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Model Helpers
+    // ------------------------------------------------------------------------
+
+    /** The {@code @Inject} constructor, else the no-argument one, as {@code ComponentDescriptor} selects it. */
+    private ExecutableElement constructorOf(TypeElement type) {
+        List<ExecutableElement> ctors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        for (ExecutableElement c : ctors) if (has(c, INJECT)) return c;
+        for (ExecutableElement c : ctors) if (c.getParameters().isEmpty()) return c;
+        return null;
+    }
+
+    private boolean isConfiguration(TypeElement type) {
+        return has(type, ComponentIndexProcessor.CONFIGURATION);
+    }
+
+    /** {@code GeneratedFactory.Point} expression for an injection point of {@code type}. */
+    private String point(TypeMirror type, String qualifier, boolean lazy) {
+        String q = (qualifier != null) ? quote(qualifier) : "null";
+        String erased = erasedName(type);
+        if ((erased.equals(PROVIDER) || erased.equals(SUPPLIER)) && type instanceof DeclaredType d
+                && d.getTypeArguments().size() == 1)
+            return FACTORY + ".Point.provider(" + erased + ".class, "
+                    + literal(d.getTypeArguments().get(0)) + ", " + q + ")";
+        return FACTORY + ".Point." + (lazy ? "lazy(" : "of(") + literal(type) + ", " + q + ")";
+    }
+
+    private String elementLiteral(TypeMirror type) {
+        if (COLLECTIONS.contains(erasedName(type)) && type instanceof DeclaredType d && d.getTypeArguments().size() == 1)
+            return literal(d.getTypeArguments().get(0));
+        return "null";
+    }
+
+    private String literal(TypeMirror type) {
+        return erasedName(type) + ".class";
+    }
+
+    private String cast(TypeMirror type, String expression) {
+        return "(" + erasedName(type) + ") " + expression;
+    }
+
+    private String erasedName(TypeMirror type) {
+        if (type.getKind() == TypeKind.TYPEVAR || type.getKind() == TypeKind.WILDCARD)
+            return erasedName(types.erasure(type));
+        return types.erasure(type).toString();
+    }
+
+    private static boolean has(Element e, String annotation) {
+        return mirror(e, annotation) != null;
+    }
+
+    private static AnnotationMirror mirror(Element e, String annotation) {
+        for (AnnotationMirror m : e.getAnnotationMirrors())
+            if (((TypeElement) m.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation))
+                return m;
+        return null;
+    }
+
+    /** String attribute {@code attribute} of {@code annotation} on {@code e}, defaults included; {@code null} if absent. */
+    private String stringValue(Element e, String annotation, String attribute) {
+        AnnotationMirror m = mirror(e, annotation);
+        if (m == null) return null;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> v
+                : elements.getElementValuesWithDefaults(m).entrySet())
+            if (v.getKey().getSimpleName().contentEquals(attribute)) return String.valueOf(v.getValue().getValue());
+        return null;
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
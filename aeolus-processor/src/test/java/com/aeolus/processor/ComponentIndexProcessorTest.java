@@ -0,0 +1,96 @@
+package com.aeolus.processor;
+
+import com.aeolus.core.di.ComponentScanner;
+import com.aeolus.core.di.annotations.Component;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentIndexProcessorTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void testIndexListsAnnotatedClassesOnly() throws Exception {
+        Path out = compile();
+        List<String> lines = Files.readAllLines(out.resolve(ComponentIndexProcessor.INDEX_LOCATION));
+
+        assertTrue(lines.contains("idx.app.Alpha"));
+        assertTrue(lines.contains("idx.app.sub.Beta$Inner"));
+        assertTrue(lines.contains("idx.app.Gamma"));
+        assertFalse(lines.contains("idx.app.Plain"));
+    }
+
+    @Test
+    void testScannerPrefersIndexOverClasspathWalk() throws Exception {
+        Path out = compile();
+        // Drop Alpha from the index: if the scanner still finds it, it walked the directory.
+        Path idx = out.resolve(ComponentIndexProcessor.INDEX_LOCATION);
+        Files.write(idx, Files.readAllLines(idx).stream()
+                .filter(l -> !l.equals("idx.app.Alpha"))
+                .collect(Collectors.toList()));
+
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader cl = new URLClassLoader(new URL[]{out.toUri().toURL()}, previous)) {
+            Thread.currentThread().setContextClassLoader(cl);
+            Set<String> found = ComponentScanner.scan("idx.app").stream()
+                    .map(Class::getName)
+                    .collect(Collectors.toSet());
+            assertEquals(Set.of("idx.app.sub.Beta$Inner", "idx.app.Gamma"), found);
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    private Path compile() throws Exception {
+        Path src = tmp.resolve("src");
+        Path out = Files.createDirectories(tmp.resolve("out"));
+        write(src, "idx/app/Alpha.java",
+                "package idx.app; @com.aeolus.core.di.annotations.Component public class Alpha { }");
+        write(src, "idx/app/sub/Beta.java",
+                "package idx.app.sub; public class Beta { "
+                        + "@com.aeolus.core.di.annotations.Configuration public static class Inner { } }");
+        write(src, "idx/app/Gamma.java",
+                "package idx.app; @jakarta.inject.Singleton public class Gamma { }");
+        write(src, "idx/app/Plain.java",
+                "package idx.app; public class Plain { }");
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fm = javac.getStandardFileManager(null, null, null)) {
+            fm.setLocation(StandardLocation.CLASS_OUTPUT, List.of(out.toFile()));
+            fm.setLocation(StandardLocation.CLASS_PATH, List.of(locationOf(Component.class), locationOf(Singleton.class)));
+            List<File> files;
+            try (var walk = Files.walk(src)) {
+                files = walk.filter(p -> p.toString().endsWith(".java")).map(Path::toFile).toList();
+            }
+            JavaCompiler.CompilationTask task = javac.getTask(null, fm, null, null, null,
+                    fm.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(List.of(new ComponentIndexProcessor()));
+            assertTrue(task.call(), "compilation failed");
+        }
+        return out;
+    }
+
+    private static void write(Path root, String path, String content) throws Exception {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static File locationOf(Class<?> type) throws Exception {
+        return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+}
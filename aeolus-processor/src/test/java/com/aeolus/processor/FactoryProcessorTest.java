@@ -0,0 +1,287 @@
+package com.aeolus.processor;
+
+import com.aeolus.core.di.Container;
+import com.aeolus.core.di.ScanMode;
+import com.aeolus.core.di.annotations.Component;
+import com.aeolus.core.logging.Logger;
+import jakarta.annotation.Resource;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.*;
+import java.io.Writer;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FactoryProcessorTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void testFactoriesAndRegistryAreGeneratedPerPackage() throws Exception {
+        Path out = compile(true);
+
+        assertTrue(Files.exists(out.resolve("gen/app/Repo_AeolusFactory.class")));
+        assertTrue(Files.exists(out.resolve("gen/app/Service_AeolusFactory.class")));
+        assertTrue(Files.exists(out.resolve("gen/app/Holder_Nested_AeolusFactory.class")));
+        assertTrue(Files.exists(out.resolve("gen/app/AppConfig_AeolusFactory.class")));
+        assertFalse(Files.exists(out.resolve("gen/app/Hidden_AeolusFactory.class")), "private member: reflective");
+        assertFalse(Files.exists(out.resolve("gen/app/Warmup_AeolusFactory.class")), "async init: reflective");
+        assertTrue(Files.exists(out.resolve("gen/app/AeolusGeneratedRegistry.class")));
+        assertEquals(List.of("gen.app.AeolusGeneratedRegistry"), Files.readAllLines(out.resolve(FactoryProcessor.SERVICES)));
+    }
+
+    @Test
+    void testNothingIsGeneratedWithoutTheOption() throws Exception {
+        Path out = compile(false);
+
+        assertFalse(Files.exists(out.resolve("gen/app/Repo_AeolusFactory.class")));
+        assertFalse(Files.exists(out.resolve(FactoryProcessor.SERVICES)));
+    }
+
+    @Test
+    void testGeneratedWiringMatchesReflectiveWiring() throws Exception {
+        Path out = compile(true);
+        Files.writeString(out.resolve("app.properties"), "app.retries=3\napp.hosts=a,b\n");
+
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader cl = new URLClassLoader(new URL[]{out.toUri().toURL()}, previous)) {
+            Thread.currentThread().setContextClassLoader(cl);
+            for (ScanMode mode : List.of(ScanMode.GENERATED, ScanMode.BYTECODE)) {
+                List<String> log = new ArrayList<>();
+                Container container = Container.builder()
+                        .logger(new ListLogger(log))
+                        .scanMode(mode)
+                        .metadataCache(null)
+                        .loadProperties(out.resolve("app.properties").toString())
+                        .scan("gen.app")
+                        .build();
+
+                Class<?> service = cl.loadClass("gen.app.Service");
+                Object s = container.get(service);
+                assertEquals("repo:3:[a, b]:init:hidden:nested:primary", s.toString(), mode.name());
+                assertNotSame(s, container.get(service), "prototype scope is kept");
+                assertSame(container.getByName("primaryRepo"), container.getByName("primaryRepo"));
+
+                List<?> destroyed = (List<?>) cl.loadClass("gen.app.Repo").getField("destroyed").get(null);
+                int before = destroyed.size();
+                container.close();
+                assertEquals(before + 1, destroyed.size(), "@PreDestroy runs on close");
+
+                assertEquals(mode == ScanMode.GENERATED,
+                        log.stream().anyMatch(l -> l.contains("Registered 4 generated components")), String.join("\n", log));
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    void testComponentsAddedInALaterRoundGetTheirOwnRegistry() throws Exception {
+        Path out = compile(true, new LateComponentProcessor());
+
+        assertTrue(Files.exists(out.resolve("gen/app/Late_AeolusFactory.class")));
+        assertTrue(Files.exists(out.resolve("gen/app/AeolusGeneratedRegistry2.class")));
+        assertEquals(List.of("gen.app.AeolusGeneratedRegistry", "gen.app.AeolusGeneratedRegistry2"),
+                Files.readAllLines(out.resolve(FactoryProcessor.SERVICES)));
+
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader cl = new URLClassLoader(new URL[]{out.toUri().toURL()}, previous)) {
+            Thread.currentThread().setContextClassLoader(cl);
+            List<String> log = new ArrayList<>();
+            Container container = Container.builder()
+                    .logger(new ListLogger(log))
+                    .scanMode(ScanMode.GENERATED)
+                    .metadataCache(null)
+                    .scan("gen.app")
+                    .build();
+            assertNotNull(container.get(cl.loadClass("gen.app.Late")));
+            assertTrue(log.stream().anyMatch(l -> l.contains("Registered 5 generated components")), String.join("\n", log));
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    /** Writes a component into an already registered package once the factories have been generated. */
+    @SupportedAnnotationTypes("*")
+    private static final class LateComponentProcessor extends AbstractProcessor {
+        private int round;
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (++round != 2) return false;
+            try (Writer w = processingEnv.getFiler().createSourceFile("gen.app.Late").openWriter()) {
+                w.write("package gen.app;\n\n@com.aeolus.core.di.annotations.Component\npublic class Late { }\n");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return false;
+        }
+    }
+
+    private Path compile(boolean generate, Processor... extra) throws Exception {
+        Path src = tmp.resolve("src");
+        Path out = Files.createDirectories(tmp.resolve(generate ? "out" : "plain"));
+        write(src, "gen/app/Repo.java", """
+                package gen.app;
+
+                import java.util.*;
+
+                @com.aeolus.core.di.annotations.Component
+                public class Repo {
+                    public static final List<String> destroyed = Collections.synchronizedList(new ArrayList<>());
+                    String name = "repo";
+
+                    @jakarta.annotation.PreDestroy
+                    void close() { destroyed.add(name); }
+                }
+                """);
+        write(src, "gen/app/Service.java", """
+                package gen.app;
+
+                import jakarta.inject.*;
+                import java.util.List;
+
+                @com.aeolus.core.di.annotations.Component
+                @com.aeolus.core.di.annotations.Scope("prototype")
+                public class Service {
+                    final Repo repo;
+                    @Inject Hidden hidden;
+                    @Inject Provider<Holder.Nested> nested;
+                    @jakarta.annotation.Resource(name = "app.retries") int retries;
+                    @jakarta.annotation.Resource(name = "app.hosts") List<String> hosts;
+                    Repo primary;
+                    String state = "";
+
+                    @Inject
+                    Service(Repo repo) { this.repo = repo; }
+
+                    @Inject
+                    void setPrimary(@Named("primaryRepo") Repo primary) { this.primary = primary; }
+
+                    @jakarta.annotation.PostConstruct
+                    void init() { state = "init"; }
+
+                    @Override
+                    public String toString() {
+                        return repo.name + ":" + retries + ":" + hosts + ":" + state + ":" + hidden.id()
+                                + ":" + nested.get().id + ":" + primary.name;
+                    }
+                }
+                """);
+        write(src, "gen/app/Hidden.java", """
+                package gen.app;
+
+                @com.aeolus.core.di.annotations.Component
+                class Hidden {
+                    @jakarta.inject.Inject private Repo repo;
+                    String id() { return repo != null ? "hidden" : "unwired"; }
+                }
+                """);
+        write(src, "gen/app/Warmup.java", """
+                package gen.app;
+
+                @com.aeolus.core.di.annotations.Component
+                class Warmup {
+                    @jakarta.annotation.PostConstruct
+                    java.util.concurrent.CompletableFuture<Void> warm() {
+                        return java.util.concurrent.CompletableFuture.completedFuture(null);
+                    }
+                }
+                """);
+        write(src, "gen/app/Holder.java", """
+                package gen.app;
+
+                public class Holder {
+                    @jakarta.inject.Singleton
+                    static class Nested { String id = "nested"; }
+                }
+                """);
+        write(src, "gen/app/AppConfig.java", """
+                package gen.app;
+
+                @com.aeolus.core.di.annotations.Configuration
+                public class AppConfig {
+                    @com.aeolus.core.di.annotations.Bean
+                    @jakarta.inject.Named("primaryRepo")
+                    Repo primaryRepo(Repo repo) {
+                        Repo primary = new Repo();
+                        primary.name = "primary";
+                        return primary;
+                    }
+                }
+                """);
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fm = javac.getStandardFileManager(null, null, null)) {
+            fm.setLocation(StandardLocation.CLASS_OUTPUT, List.of(out.toFile()));
+            fm.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(Files.createDirectories(out.resolve("generated")).toFile()));
+            fm.setLocation(StandardLocation.CLASS_PATH, List.of(locationOf(Component.class), locationOf(Singleton.class),
+                    locationOf(Resource.class)));
+            List<File> files;
+            try (var walk = Files.walk(src)) {
+                files = walk.filter(p -> p.toString().endsWith(".java")).map(Path::toFile).toList();
+            }
+            List<String> options = generate ? List.of("-A" + FactoryProcessor.OPTION + "=true") : List.of();
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            JavaCompiler.CompilationTask task = javac.getTask(null, fm, diagnostics, options, null,
+                    fm.getJavaFileObjectsFromFiles(files));
+            List<Processor> processors = new ArrayList<>(List.of(new ComponentIndexProcessor(), new FactoryProcessor()));
+            processors.addAll(List.of(extra));
+            task.setProcessors(processors);
+            assertTrue(task.call(), () -> "compilation failed: " + diagnostics.getDiagnostics());
+        }
+        return out;
+    }
+
+    private static void write(Path root, String path, String content) throws Exception {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static File locationOf(Class<?> type) throws Exception {
+        return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private record ListLogger(List<String> lines) implements Logger {
+        @Override
+        public void info(String msg, Object... args) {
+            lines.add(String.format(msg, args));
+        }
+
+        @Override
+        public void warn(String msg, Object... args) {
+            lines.add(String.format(msg, args));
+        }
+
+        @Override
+        public void error(String msg, Object... args) {
+            lines.add(String.format(msg, args));
+        }
+
+        @Override
+        public void trace(String msg, Object... args) { }
+    }
+}